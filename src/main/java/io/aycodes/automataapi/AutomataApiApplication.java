@@ -2,8 +2,10 @@ package io.aycodes.automataapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AutomataApiApplication {
 
 	public static void main(String[] args) {
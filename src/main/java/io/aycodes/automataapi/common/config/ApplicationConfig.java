@@ -1,11 +1,13 @@
 package io.aycodes.automataapi.common.config;
 
 import io.aycodes.automataapi.users.repository.UserRepo;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,14 +15,14 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 
@@ -29,6 +31,15 @@ import java.util.Arrays;
 public class ApplicationConfig {
 
     private final UserRepo      userRepo;
+    private final MeterRegistry meterRegistry;
+    private final PasswordHashingPolicy passwordHashingPolicy;
+
+    @Value("${security.password-hashing.pool-size}")
+    private int                 hashingPoolSize;
+    @Value("${security.password-hashing.queue-capacity}")
+    private int                 hashingQueueCapacity;
+    @Value("${security.password-hashing.timeout}")
+    private Duration            hashingTimeout;
 
     @Bean
     public UserDetailsService userDetailsService() {
@@ -37,10 +48,12 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(final UserDetailsPasswordService userDetailsPasswordService) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // rehashes the password after a successful login whenever the policy reports an upgrade
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -50,8 +63,9 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(passwordHashingPolicy.passwordEncoder(),
+                hashingPoolSize, hashingQueueCapacity, hashingTimeout, meterRegistry);
     }
 
     @Bean
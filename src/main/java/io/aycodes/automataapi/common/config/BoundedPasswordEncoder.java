@@ -0,0 +1,177 @@
+package io.aycodes.automataapi.common.config;
+
+
+import io.aycodes.automataapi.common.dtos.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing and verification of a delegate encoder on a dedicated, size-limited pool.
+ * BCrypt work can then use at most {@code pool-size} cores no matter how many request threads ask for it,
+ * and once the queue is full further callers fail fast instead of piling up behind it.
+ * Queue wait and execution time are recorded per operation.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder       delegate;
+    private final ThreadPoolExecutor    executor;
+    private final long                  timeoutNanos;
+    private final Counter               rejected;
+    private final Timer                 encodeQueueWait;
+    private final Timer                 encodeExecution;
+    private final Timer                 matchesQueueWait;
+    private final Timer                 matchesExecution;
+
+    public BoundedPasswordEncoder(final PasswordEncoder delegate,
+                                  final int poolSize,
+                                  final int queueCapacity,
+                                  final Duration timeout,
+                                  final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+        this.encodeQueueWait = timer("password.hashing.queue.wait", "encode", meterRegistry);
+        this.encodeExecution = timer("password.hashing.execution", "encode", meterRegistry);
+        this.matchesQueueWait = timer("password.hashing.queue.wait", "matches", meterRegistry);
+        this.matchesExecution = timer("password.hashing.execution", "matches", meterRegistry);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return execute(encodeQueueWait, encodeExecution, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return execute(matchesQueueWait, matchesExecution, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes a batch on the pool, keeping at most {@code pool-size} of its tasks queued or running at a time
+     * so a large batch keeps every hashing thread busy without taking the queue away from logins.
+     */
+    public List<String> encodeAll(final List<? extends CharSequence> rawPasswords) {
+        final Semaphore inFlight = new Semaphore(executor.getCorePoolSize());
+        final List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (final CharSequence rawPassword : rawPasswords) {
+                if (!inFlight.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.increment();
+                    throw new PasswordHashingRejectedException("Password operation timed out, try again later");
+                }
+                futures.add(submitPatiently(() -> {
+                    try {
+                        return delegate.encode(rawPassword);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            final List<String> encoded = new ArrayList<>(futures.size());
+            for (final Future<String> future : futures) {
+                encoded.add(await(future));
+            }
+            return encoded;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password operation interrupted", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(final Timer queueWait, final Timer execution, final Supplier<T> work) {
+        return await(submit(queueWait, execution, work));
+    }
+
+    private <T> Future<T> submit(final Timer queueWait, final Timer execution, final Supplier<T> work) {
+        final long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return execution.record(work);
+            });
+        } catch (final RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many concurrent password operations, try again later", e);
+        }
+    }
+
+    // a task releases its permit just before its thread is free again, so the queue can briefly be full
+    private Future<String> submitPatiently(final Supplier<String> work) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            final long submittedAt = System.nanoTime();
+            try {
+                return executor.submit(() -> {
+                    encodeQueueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                    return encodeExecution.record(work);
+                });
+            } catch (final RejectedExecutionException e) {
+                if (System.nanoTime() - deadline >= 0) {
+                    rejected.increment();
+                    throw new PasswordHashingRejectedException("Password operation timed out, try again later", e);
+                }
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+        }
+    }
+
+    private <T> T await(final Future<T> future) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password operation timed out, try again later", e);
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password operation interrupted", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer timer(final String name, final String operation, final MeterRegistry meterRegistry) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
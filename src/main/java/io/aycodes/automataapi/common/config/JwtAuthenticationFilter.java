@@ -3,8 +3,11 @@ package io.aycodes.automataapi.common.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aycodes.automataapi.common.dtos.CustomResponse;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticatedUser;
 import io.aycodes.automataapi.common.dtos.auth.AuthenticationTokenDetails;
+import io.aycodes.automataapi.users.config.AuthConfig;
 import io.aycodes.automataapi.users.service.JwtService;
+import io.aycodes.automataapi.users.service.PrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,8 +18,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -33,7 +34,8 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService                jwtService;
-    private final UserDetailsService        userDetailsService;
+    private final PrincipalCache            principalCache;
+    private final AuthConfig                authConfig;
 
 
     @Override
@@ -68,9 +70,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     log.info("Setting the authentication for the bearer token");
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                    final AuthenticatedUser principal = resolvePrincipal(authenticationTokenDetails);
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
                             null
                     );
@@ -95,4 +97,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser resolvePrincipal(final AuthenticationTokenDetails tokenDetails) {
+        // tokens issued before the claims were added still go through the cache
+        if (authConfig.isStatelessPrincipal() && tokenDetails.getUserId() != null) {
+            return AuthenticatedUser.from(tokenDetails);
+        }
+        return principalCache.getPrincipal(tokenDetails);
+    }
 }
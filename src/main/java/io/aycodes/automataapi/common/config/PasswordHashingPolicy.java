@@ -0,0 +1,84 @@
+package io.aycodes.automataapi.common.config;
+
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides the BCrypt cost factor for this deployment. Unless a fixed strength is configured, the cost is
+ * calibrated at startup so that one verification takes roughly {@code target-millis} on this host.
+ * <p>
+ * Hashes are stored with a {@code {bcrypt}} prefix. Legacy unprefixed hashes still verify, and any hash whose
+ * format or cost differs from the policy, weaker or stronger, is reported as needing an upgrade so it is
+ * rehashed on the next successful login.
+ */
+@Component
+@Slf4j
+public class PasswordHashingPolicy {
+
+    private static final String     BCRYPT_ID = "bcrypt";
+    private static final String     BCRYPT_PREFIX = "{" + BCRYPT_ID + "}";
+    private static final Pattern    BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final int        CALIBRATION_SAMPLES = 3;
+
+    @Getter
+    private final int               strength;
+    private final PasswordEncoder   passwordEncoder;
+
+    public PasswordHashingPolicy(@Value("${security.password-hashing.bcrypt.strength}") final int fixedStrength,
+                                 @Value("${security.password-hashing.bcrypt.target-millis}") final long targetMillis,
+                                 @Value("${security.password-hashing.bcrypt.min-strength}") final int minStrength,
+                                 @Value("${security.password-hashing.bcrypt.max-strength}") final int maxStrength) {
+        this.strength = fixedStrength > 0 ? fixedStrength : calibrate(targetMillis, minStrength, maxStrength);
+        final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        final DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt)) {
+            @Override
+            public boolean upgradeEncoding(final String prefixEncodedPassword) {
+                return super.upgradeEncoding(prefixEncodedPassword) || costOf(prefixEncodedPassword) != strength;
+            }
+        };
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        this.passwordEncoder = delegating;
+    }
+
+    public PasswordEncoder passwordEncoder() {
+        return passwordEncoder;
+    }
+
+    static int costOf(final String prefixEncodedPassword) {
+        if (prefixEncodedPassword == null) {
+            return -1;
+        }
+        final String hash = prefixEncodedPassword.startsWith(BCRYPT_PREFIX)
+                ? prefixEncodedPassword.substring(BCRYPT_PREFIX.length()) : prefixEncodedPassword;
+        final Matcher matcher = BCRYPT_COST.matcher(hash);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private static int calibrate(final long targetMillis, final int minStrength, final int maxStrength) {
+        final BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        final String hash = probe.encode("calibration-password");
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            final long start = System.nanoTime();
+            probe.matches("calibration-password", hash);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        // every extra cost step doubles the work
+        final double headroom = (targetMillis * 1_000_000d) / Math.max(1, fastestNanos);
+        final int extraSteps = headroom > 1 ? (int) Math.floor(Math.log(headroom) / Math.log(2)) : 0;
+        final int calibrated = Math.max(minStrength, Math.min(maxStrength, minStrength + extraSteps));
+        log.info("BCrypt strength {} calibrated at {} ms per verification (cost {}), target {} ms",
+                calibrated, fastestNanos / 1_000_000, minStrength, targetMillis);
+        return calibrated;
+    }
+}
@@ -0,0 +1,57 @@
+package io.aycodes.automataapi.common.config;
+
+
+import java.util.Collection;
+
+/**
+ * Prefix trie over the open (unauthenticated) endpoints, compiled once at startup.
+ * Classifying a URI walks at most the length of the longest open prefix and allocates nothing.
+ */
+public final class RouteClassifier {
+
+    private static final int        ALPHABET = 128;
+
+    private final Node              root;
+
+    private RouteClassifier(final Node root) {
+        this.root = root;
+    }
+
+    public static RouteClassifier compile(final Collection<String> openPrefixes) {
+        final Node root = new Node();
+        for (final String prefix : openPrefixes) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                final char c = prefix.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Open endpoints must be ASCII: " + prefix);
+                }
+                if (node.children[c] == null) {
+                    node.children[c] = new Node();
+                }
+                node = node.children[c];
+            }
+            node.terminal = true;
+        }
+        return new RouteClassifier(root);
+    }
+
+    public boolean isOpen(final String uri) {
+        Node node = root;
+        for (int i = 0; i < uri.length(); i++) {
+            if (node.terminal) {
+                return true;
+            }
+            final char c = uri.charAt(i);
+            if (c >= ALPHABET || (node = node.children[c]) == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static final class Node {
+        private final Node[]    children = new Node[ALPHABET];
+        private boolean         terminal;
+    }
+}
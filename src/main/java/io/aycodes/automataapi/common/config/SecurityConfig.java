@@ -1,6 +1,7 @@
 package io.aycodes.automataapi.common.config;
 
-import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticatedUser;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -29,6 +30,21 @@ import java.util.function.Predicate;
 @EnableMethodSecurity(jsr250Enabled = true)
 public class SecurityConfig {
 
+    private static final List<String> OPEN_ENDPOINTS = List.of(
+            "/api/v1/users/register",
+            "/api/v1/auth/login",
+            "/api/v1/auth/refresh",
+            "/api/v1/auth/email-availability",
+            "/api/v1/auth/username-availability",
+            "/api/v1/users/new-user",
+            "/swagger-ui",
+            "/v3/api-docs"
+    );
+
+    private static final RouteClassifier OPEN_ROUTES = RouteClassifier.compile(OPEN_ENDPOINTS);
+
+    private static final Predicate<HttpServletRequest> API_SECURED = r -> !OPEN_ROUTES.isOpen(r.getRequestURI());
+
     private final JwtAuthenticationFilter       jwtAuthFilter;
     private final AuthenticationProvider        authenticationProvider;
 
@@ -39,6 +55,9 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .securityMatcher("/api/v1/**")
                 .authorizeHttpRequests(auth -> auth
+                        //    completing a streamed response dispatches it again without the bearer token, the
+                        //    request itself was authorized before the stream started
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers(openEndpoints().toArray(String[]::new)).permitAll()
                         .anyRequest().authenticated()
@@ -54,26 +73,16 @@ public class SecurityConfig {
 
     @Bean
     public static List<String> openEndpoints() {
-        return List.of(
-                "/api/v1/users/register",
-                "/api/v1/auth/login",
-                "/api/v1/auth/email-availability",
-                "/api/v1/auth/username-availability",
-                "/api/v1/users/new-user",
-                "/swagger-ui",
-                "/v3/api-docs"
-        );
+        return OPEN_ENDPOINTS;
     }
 
     public static Predicate<HttpServletRequest> isApiSecured() {
-        return r -> openEndpoints().stream()
-                .noneMatch(uri -> r.getRequestURI().startsWith(uri));
+        return API_SECURED;
     }
 
-    public static User extractUserDetailsFromSecurityContext(final SecurityContextHolder securityContextHolder) {
+    public static AuthenticatedUser extractUserDetailsFromSecurityContext(final SecurityContextHolder securityContextHolder) {
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return  (User) userDetails;
+        return (AuthenticatedUser) authentication.getPrincipal();
     }
 
     public static Collection<? extends GrantedAuthority> extractGrantedAuthoritiesFromSecurityContext(final SecurityContextHolder securityContextHolder) {
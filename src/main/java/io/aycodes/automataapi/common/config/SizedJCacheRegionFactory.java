@@ -0,0 +1,65 @@
+package io.aycodes.automataapi.common.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import javax.cache.Cache;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+
+/**
+ * Second level cache regions held in heap by Caffeine, each sized and expired from the
+ * {@code second-level-cache.<region>} entries of the JPA properties. A region without an entry fails the
+ * startup rather than growing unbounded. Every session factory gets a cache manager of its own, so
+ * application contexts sharing a JVM, as tests do, never read each other's entries.
+ */
+public class SizedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final String         PREFIX = "second-level-cache.";
+
+    private volatile Map<String, Object> configValues;
+
+    @Override
+    protected void prepareForUse(final SessionFactoryOptions settings, final Map<String, Object> configValues) {
+        this.configValues = configValues;
+        super.prepareForUse(settings, configValues);
+    }
+
+    @Override
+    protected CachingProvider getCachingProvider(final Map<String, Object> properties) {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    }
+
+    @Override
+    protected URI getUri(final SessionFactoryOptions settings, final Map<String, Object> properties) {
+        // the provider hands out one manager per uri
+        return URI.create("automata-api:hibernate:" + UUID.randomUUID());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(final String regionName) {
+        final Object maxSize = configValues.get(PREFIX + regionName + ".max-size");
+        if (maxSize == null) {
+            throw new CacheException("No " + PREFIX + regionName + ".max-size configured for second level cache region "
+                    + regionName);
+        }
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(Long.parseLong(maxSize.toString())));
+        final Object ttl = configValues.get(PREFIX + regionName + ".ttl");
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(DurationStyle.detectAndParse(ttl.toString()).toNanos()));
+        }
+        // Hibernate only stores disassembled state it never mutates, so entries need not be copied on every access
+        configuration.setStoreByValue(false);
+        return getCacheManager().createCache(regionName, configuration);
+    }
+}
@@ -0,0 +1,26 @@
+package io.aycodes.automataapi.common.dtos;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a file import. Only the first {@code errors} are kept, {@code errorsTruncated} telling
+ * whether more rows failed than are listed.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class BulkImportSummary {
+
+    private long                    totalRows;
+    private long                    created;
+    private long                    failed;
+    private List<BulkRowResult>     errors;
+    private boolean                 errorsTruncated;
+}
@@ -0,0 +1,35 @@
+package io.aycodes.automataapi.common.dtos;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Outcome of a single row of a bulk request, {@code row} being its zero-based position in the request.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class BulkRowResult {
+
+    private int         row;
+    private String      key;
+    private boolean     success;
+    private Long        id;
+    private String      message;
+
+    public static BulkRowResult created(final int row, final String key, final Long id) {
+        return BulkRowResult.builder().row(row).key(key).success(true).id(id).message("Created").build();
+    }
+
+    public static BulkRowResult updated(final int row, final String key, final Long id) {
+        return BulkRowResult.builder().row(row).key(key).success(true).id(id).message("Updated").build();
+    }
+
+    public static BulkRowResult failed(final int row, final String key, final String message) {
+        return BulkRowResult.builder().row(row).key(key).success(false).message(message).build();
+    }
+}
@@ -0,0 +1,13 @@
+package io.aycodes.automataapi.common.dtos;
+
+
+/**
+ * Thrown by a row source when one row of a bulk request cannot be read. Bulk services record it as a
+ * failed row and go on with the next one.
+ */
+public class MalformedRowException extends RuntimeException {
+
+    public MalformedRowException(final String message) {
+        super(message);
+    }
+}
@@ -13,7 +13,9 @@ import lombok.RequiredArgsConstructor;
 public class PageResponse {
 
     private Object  pageContent;
-    private int     currentPage;
-    private int     totalPages;
+    private Integer currentPage;
+    private Integer totalPages;
     private Long    totalItems;
+    private String  nextCursor;
+    private Boolean hasNext;
 }
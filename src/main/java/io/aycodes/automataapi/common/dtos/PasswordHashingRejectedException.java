@@ -0,0 +1,17 @@
+package io.aycodes.automataapi.common.dtos;
+
+
+/**
+ * Thrown when the password hashing pool is saturated or does not answer in time.
+ * Callers surface it as {@code 503 Service Unavailable} so clients can back off and retry.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(final String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -9,4 +9,6 @@ import lombok.Data;
 public class AuthResponse {
 
     private String      accessToken;
+    private String      refreshToken;
+    private Long        expiresIn;
 }
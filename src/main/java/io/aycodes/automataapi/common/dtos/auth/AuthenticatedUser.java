@@ -0,0 +1,65 @@
+package io.aycodes.automataapi.common.dtos.auth;
+
+
+import io.aycodes.automataapi.users.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal placed in the security context for secured requests.
+ * It carries only what the API needs to scope data to the caller, so it can be built
+ * either from a loaded {@link User} or straight from the signed claims of an access token.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long          id;
+    private final String        username;
+    private final String        email;
+
+    public static AuthenticatedUser from(final User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    public static AuthenticatedUser from(final AuthenticationTokenDetails tokenDetails) {
+        return new AuthenticatedUser(tokenDetails.getUserId(), tokenDetails.getSubject(), tokenDetails.getEmail());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
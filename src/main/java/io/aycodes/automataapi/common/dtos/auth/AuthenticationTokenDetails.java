@@ -12,6 +12,8 @@ public class AuthenticationTokenDetails {
 
     private final String                    tokenId;
     private final String                    subject;
+    private final Long                      userId;
+    private final String                    email;
     private final ZonedDateTime             issuedDate;
     private final ZonedDateTime             expirationDate;
 }
@@ -0,0 +1,18 @@
+package io.aycodes.automataapi.common.dtos.auth;
+
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenDto {
+
+    @NotBlank(message = "Refresh token is required")
+    private String          refreshToken;
+}
@@ -0,0 +1,27 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Either a list of {@code updates}, or one {@code status} applied to every id in {@code testCaseIds}. Each
+ * update is validated on its own so one bad entry fails only its row.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateDto {
+
+    private TestCaseStatus              status;
+
+    private List<Long>                  testCaseIds;
+
+    private List<StatusUpdateDto>       updates;
+}
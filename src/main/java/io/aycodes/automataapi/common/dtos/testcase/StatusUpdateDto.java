@@ -0,0 +1,22 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class StatusUpdateDto {
+
+    @NotNull(message = "Status update must have a testcase id")
+    private Long                testCaseId;
+
+    @NotNull(message = "Status update must have a valid status")
+    private TestCaseStatus      status;
+}
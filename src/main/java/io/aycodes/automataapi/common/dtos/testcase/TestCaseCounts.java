@@ -0,0 +1,26 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of test cases of a user, in total and broken down by status, by priority and by both.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class TestCaseCounts {
+
+    private long                                                    total;
+    private Map<TestCaseStatus, Long>                               byStatus;
+    private Map<TestCasePriority, Long>                             byPriority;
+    private Map<TestCaseStatus, Map<TestCasePriority, Long>>        byStatusAndPriority;
+}
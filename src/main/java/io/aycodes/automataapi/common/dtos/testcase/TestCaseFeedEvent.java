@@ -0,0 +1,31 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCaseFeedEventType;
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data of one event on a user's test case feed. Fields the change did not write are null, so a title
+ * change carries no status and a status change carries no title.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class TestCaseFeedEvent {
+
+    private Long                    testCaseId;
+    private TestCaseFeedEventType   type;
+    private String                  title;
+    private String                  description;
+    private TestCaseStatus          status;
+    private TestCasePriority        priority;
+    private LocalDateTime           occurredOn;
+}
@@ -0,0 +1,59 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseSortField;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional conditions and ordering of a test case listing, bound from the query string. Time ranges
+ * include their start and exclude their end.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class TestCaseFilter {
+
+    private TestCaseStatus      status;
+
+    private TestCasePriority    priority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime       createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime       createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime       updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime       updatedTo;
+
+    @Builder.Default
+    private TestCaseSortField   sortBy = TestCaseSortField.CREATED_ON;
+
+    @Builder.Default
+    private Sort.Direction      direction = Sort.Direction.DESC;
+
+    public boolean hasConditions() {
+        return status != null || priority != null || createdFrom != null || createdTo != null
+                || updatedFrom != null || updatedTo != null;
+    }
+
+    /**
+     * Newest first, the order cursor pages and the unfiltered listing are kept in.
+     */
+    public boolean hasDefaultSort() {
+        return sortBy == TestCaseSortField.CREATED_ON && direction == Sort.Direction.DESC;
+    }
+}
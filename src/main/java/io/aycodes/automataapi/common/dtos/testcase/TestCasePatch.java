@@ -0,0 +1,28 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fields of a test case set by a JSON merge patch, null for the fields the patch leaves as they are.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class TestCasePatch {
+
+    private String              title;
+    private String              description;
+    private TestCaseStatus      status;
+    private TestCasePriority    priority;
+
+    public boolean isEmpty() {
+        return title == null && description == null && status == null && priority == null;
+    }
+}
@@ -0,0 +1,31 @@
+package io.aycodes.automataapi.common.dtos.testcase;
+
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a test case holding exactly the columns the API returns. Queries build it with a
+ * constructor expression, so reads neither load the owning user nor register entities for dirty checking.
+ */
+@Data
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class TestCaseView {
+
+    private Long                id;
+    private String              title;
+    private String              description;
+    private TestCaseStatus      status;
+    private TestCasePriority    priority;
+    private LocalDateTime       createdOn;
+    private LocalDateTime       updatedOn;
+    private long                version;
+}
@@ -0,0 +1,20 @@
+package io.aycodes.automataapi.common.enums;
+
+public enum TestCaseFeedEventType {
+
+    CREATED("created"),
+    UPDATED("updated"),
+    STATUS("status"),
+    PRIORITY("priority"),
+    DELETED("deleted");
+
+    private final String eventName;
+
+    TestCaseFeedEventType(final String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+}
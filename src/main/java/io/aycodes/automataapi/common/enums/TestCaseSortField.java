@@ -0,0 +1,19 @@
+package io.aycodes.automataapi.common.enums;
+
+public enum TestCaseSortField {
+
+    CREATED_ON("createdOn"),
+    UPDATED_ON("updatedOn"),
+    PRIORITY("priority"),
+    STATUS("status");
+
+    private final String attribute;
+
+    TestCaseSortField(final String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
@@ -0,0 +1,75 @@
+package io.aycodes.automataapi.common.utility;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. {@link #mightContain(String)} never returns a false negative,
+ * so a {@code false} answer can be trusted without asking the database; a {@code true} answer only means
+ * the caller has to confirm with the authoritative store.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray   bits;
+    private final long              bitCount;
+    private final int               hashFunctions;
+
+    public BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+        if (expectedInsertions < 1 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs positive insertions and 0 < fpp < 1");
+        }
+        final double ln2 = Math.log(2);
+        final long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        final int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    public void put(final String value) {
+        final long hash = hash(value);
+        final long h1 = hash;
+        final long h2 = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 1; i <= hashFunctions; i++) {
+            final long bit = index(h1 + i * h2);
+            final long mask = 1L << bit;
+            final int word = (int) (bit >>> 6);
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public boolean mightContain(final String value) {
+        final long hash = hash(value);
+        final long h1 = hash;
+        final long h2 = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 1; i <= hashFunctions; i++) {
+            final long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(final long combinedHash) {
+        return (combinedHash & Long.MAX_VALUE) % bitCount;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with the murmur3 fmix64 avalanche
+    private static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
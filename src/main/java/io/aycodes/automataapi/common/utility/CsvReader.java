@@ -0,0 +1,88 @@
+package io.aycodes.automataapi.common.utility;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 rows one at a time, so an upload of any size is parsed while only the current row is held.
+ * Quoted fields may contain separators, doubled quotes and line breaks; lines may end with CRLF or LF.
+ * The reader should be buffered, it is consumed a character at a time.
+ */
+public class CsvReader {
+
+    private static final int SEPARATOR = ',';
+    private static final int QUOTE = '"';
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private int pending = EOF;
+    private boolean hasPending;
+
+    public CsvReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the fields of the next row, or {@code null} once the input is exhausted
+     * @throws IOException if the input ends inside a quoted field
+     */
+    public List<String> readRow() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == QUOTE) {
+                    final int next = read();
+                    if (next == QUOTE) {
+                        field.append((char) QUOTE);
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    final int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (hasPending) {
+            hasPending = false;
+            return pending;
+        }
+        return reader.read();
+    }
+
+    private void unread(final int c) {
+        pending = c;
+        hasPending = true;
+    }
+}
@@ -0,0 +1,65 @@
+package io.aycodes.automataapi.common.utility;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Keeps cached query results and entities consistent with rows written over plain JDBC, which Hibernate never sees.
+ */
+public final class QueryCacheInvalidation {
+
+    private QueryCacheInvalidation() {
+    }
+
+    /**
+     * Marks the tables of the entity as changing until the current transaction completes, the way Hibernate
+     * does for its own bulk statements, so results cached before or during the transaction are not served
+     * after it. Must run inside the transaction that writes the rows.
+     */
+    public static void tablesWritten(final EntityManager entityManager, final Class<?> entityClass) {
+        final SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        final List<String> spaces = new ArrayList<>();
+        session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass).visitQuerySpaces(spaces::add);
+        final String[] querySpaces = spaces.toArray(String[]::new);
+        final TimestampsCache timestampsCache = session.getFactory().getCache().getTimestampsCache();
+        timestampsCache.preInvalidate(querySpaces, session);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                timestampsCache.invalidate(querySpaces, completed));
+    }
+
+    /**
+     * Does what {@link #tablesWritten} does, and also locks the cached entities with the given ids until the
+     * current transaction completes, the way Hibernate does for an entity it updates itself. Neither their old
+     * state nor a copy read before the commit is served or cached again, while the rest of the region is kept,
+     * unlike a bulk statement, which evicts all of it. Must run before the rows are written.
+     */
+    public static void rowsWritten(final EntityManager entityManager, final Class<?> entityClass,
+                                   final Collection<?> ids) {
+        tablesWritten(entityManager, entityClass);
+        final SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        final EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        final EntityDataAccess cache = persister.getCacheAccessStrategy();
+        final Map<Object, SoftLock> locks = new LinkedHashMap<>();
+        for (final Object id : ids) {
+            final Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+            locks.put(key, cache.lockItem(session, key, null));
+        }
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                locks.forEach((key, lock) -> cache.unlockItem(completed, key, lock)));
+    }
+}
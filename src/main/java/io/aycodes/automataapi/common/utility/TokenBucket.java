@@ -0,0 +1,48 @@
+package io.aycodes.automataapi.common.utility;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The refill timestamp (upper 48 bits, epoch millis) and the remaining tokens
+ * (lower 16 bits) share a single {@link AtomicLong}, so a consume attempt is one read plus at most a few CAS retries.
+ */
+public final class TokenBucket {
+
+    public static final int         MAX_CAPACITY = 0xFFFF;
+
+    private static final int        TOKEN_BITS = 16;
+    private static final long       TOKEN_MASK = MAX_CAPACITY;
+
+    private final AtomicLong        state;
+
+    public TokenBucket(final int capacity, final long nowMillis) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Token bucket capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.state = new AtomicLong(pack(nowMillis, capacity));
+    }
+
+    public boolean tryConsume(final long nowMillis, final int capacity, final long millisPerToken) {
+        while (true) {
+            final long current = state.get();
+            long lastRefill = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            final long refill = (nowMillis - lastRefill) / millisPerToken;
+            if (refill > 0) {
+                tokens = Math.min(capacity, tokens + refill);
+                // keep the unspent fraction of the interval unless the bucket is full
+                lastRefill = tokens == capacity ? nowMillis : lastRefill + refill * millisPerToken;
+            }
+            if (tokens == 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(lastRefill, tokens - 1))) {
+                return true;
+            }
+        }
+    }
+
+    private static long pack(final long refillMillis, final long tokens) {
+        return (refillMillis << TOKEN_BITS) | tokens;
+    }
+}
@@ -1,28 +1,57 @@
 package io.aycodes.automataapi.testcase.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aycodes.automataapi.common.config.SecurityConfig;
+import io.aycodes.automataapi.common.dtos.BulkImportSummary;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
 import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.CustomResponse;
 import io.aycodes.automataapi.common.dtos.PageResponse;
+import io.aycodes.automataapi.common.dtos.testcase.BulkStatusUpdateDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseCounts;
 import io.aycodes.automataapi.common.dtos.testcase.TestCaseDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFilter;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.enums.ExportFormat;
 import io.aycodes.automataapi.common.enums.TestCasePriority;
 import io.aycodes.automataapi.common.enums.TestCaseStatus;
 import io.aycodes.automataapi.testcase.model.TestCase;
 import io.aycodes.automataapi.testcase.service.TCService;
-import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.testcase.service.TestCaseBulkService;
+import io.aycodes.automataapi.testcase.service.TestCaseChangeCounter;
+import io.aycodes.automataapi.testcase.service.TestCaseDashboardService;
+import io.aycodes.automataapi.testcase.service.TestCaseExportService;
+import io.aycodes.automataapi.testcase.service.TestCaseFeedService;
+import io.aycodes.automataapi.testcase.service.TestCaseSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -31,8 +60,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TestCaseController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
 
     private final TCService TCService;
+    private final TestCaseBulkService testCaseBulkService;
+    private final TestCaseExportService testCaseExportService;
+    private final TestCaseSearchService testCaseSearchService;
+    private final TestCaseDashboardService testCaseDashboardService;
+    private final TestCaseChangeCounter testCaseChangeCounter;
+    private final TestCaseFeedService testCaseFeedService;
+    private final ObjectMapper objectMapper;
 
 
     @PostMapping("/new")
@@ -47,8 +85,8 @@ public class TestCaseController {
         try {
             log.info("Attempt TestCase creation");
             final String message = "successful";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            final TestCase testCase = TCService.createTestCaseForUser(testCaseDto, user);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final TestCase testCase = TCService.createTestCaseForUser(testCaseDto, userId);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.CREATED.value()).status(HttpStatus.CREATED)
                     .message(message).success(true)
@@ -75,8 +113,95 @@ public class TestCaseController {
         }
     }
 
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Add TestCases In Bulk",
+            description = "Add TestCases for logged-in user from a JSON array, read as a stream",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see the result of each row"),
+            @ApiResponse(responseCode = "417", description = "Unable to process request")
+    })
+    public ResponseEntity<CustomResponse> createTestCases(final HttpServletRequest request,
+                                                         SecurityContextHolder securityContextHolder) {
+        try (MappingIterator<TestCaseDto> rows = objectMapper.readerFor(TestCaseDto.class)
+                .readValues(request.getInputStream())) {
+            log.info("Attempt bulk TestCase creation");
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final List<BulkRowResult> results = testCaseBulkService.createTestCases(rows, userId);
+            final long created = results.stream().filter(BulkRowResult::isSuccess).count();
+            final String message = "Created " + created + " of " + results.size() + " test cases";
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(results)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (final Exception e) {
+            final String message = "Unable to create TestCases";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import TestCases",
+            description = "Import TestCases for logged-in user from an uploaded CSV or NDJSON file, read as a stream. " +
+                    "The format follows the file extension unless given",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File imported, see the counts and failed rows"),
+            @ApiResponse(responseCode = "400", description = "Unreadable file"),
+            @ApiResponse(responseCode = "417", description = "Unable to import file")
+    })
+    public ResponseEntity<CustomResponse> importTestCases(@RequestParam("file") final MultipartFile file,
+                                                         @RequestParam(value = "format", required = false) ExportFormat format,
+                                                         SecurityContextHolder securityContextHolder) {
+        try (InputStream inputStream = file.getInputStream()) {
+            log.info("Attempt TestCase import");
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            if (format == null) {
+                final String filename = file.getOriginalFilename();
+                format = filename != null && filename.toLowerCase().endsWith(".csv") ? ExportFormat.CSV : ExportFormat.NDJSON;
+            }
+            final BulkImportSummary summary = testCaseBulkService.importTestCases(inputStream, format, userId);
+            final String message = "Imported " + summary.getCreated() + " of " + summary.getTotalRows() + " test cases";
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(summary)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (final CustomException cs) {
+            final String message = cs.getMessage();
+            log.error(message, cs);
+            final HttpStatus httpStatus = cs.getStatus() == HttpStatus.BAD_REQUEST
+                    ? HttpStatus.BAD_REQUEST : HttpStatus.EXPECTATION_FAILED;
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(httpStatus.value()).status(httpStatus)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, httpStatus);
+        } catch (final Exception e) {
+            final String message = "Unable to import TestCases";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
     @PutMapping("/update/{testCaseId}")
     @Operation(summary = "Update TestCase", description = "Update existing testcase for logged-in user",
+            deprecated = true,
             security = { @SecurityRequirement(name = "Bearer Token") })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "TestCase updated successfully"),
@@ -88,8 +213,8 @@ public class TestCaseController {
         try {
             log.info("Attempt TestCase updating");
             final String message = "successful";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            final TestCase testCase = TCService.updateUserTestCase(testCaseId, testCaseDto, user);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final TestCase testCase = TCService.updateUserTestCase(testCaseId, testCaseDto, userId);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
                     .message(message).success(true)
@@ -116,11 +241,116 @@ public class TestCaseController {
         }
     }
 
+    @PatchMapping(value = "/{testCaseId}", consumes = { MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @Operation(summary = "Patch TestCase",
+            description = "Apply a JSON merge patch of any of title, description, status and priority to a testcase " +
+                    "of logged-in user. If-Match must carry the ETag the testcase was last read with, the response " +
+                    "carries the new one",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TestCase patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed patch or If-Match header"),
+            @ApiResponse(responseCode = "404", description = "TestCase not found"),
+            @ApiResponse(responseCode = "409", description = "TestCase changed since it was read, or title already taken"),
+            @ApiResponse(responseCode = "428", description = "If-Match header missing"),
+            @ApiResponse(responseCode = "417", description = "Unable to patch testcase")
+    })
+    public ResponseEntity<CustomResponse> patchTestCase(@PathVariable("testCaseId") Long testCaseId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody JsonNode mergePatch,
+                                                        SecurityContextHolder securityContextHolder) {
+        try {
+            log.info("Attempt TestCase patching");
+            final String message = "successful";
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final TestCaseView testCase = TCService.patchUserTestCase(testCaseId, userId,
+                    expectedVersion(testCaseId, ifMatch), mergePatch);
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(testCase)
+                    .build();
+            log.info(message);
+            return ResponseEntity.ok()
+                    .eTag(testCaseTag(testCaseId, testCase.getVersion()))
+                    .cacheControl(REVALIDATE)
+                    .body(response);
+        } catch (final CustomException cs) {
+            final String message = cs.getMessage();
+            log.error(message, cs);
+            final HttpStatus httpStatus = switch (cs.getStatus()) {
+                case BAD_REQUEST, NOT_FOUND, CONFLICT, PRECONDITION_REQUIRED -> cs.getStatus();
+                default -> HttpStatus.EXPECTATION_FAILED;
+            };
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(httpStatus.value()).status(httpStatus)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, httpStatus);
+        } catch (final Exception e) {
+            final String message = "Unable to patch TestCase";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
+    @PutMapping("/update-status/bulk")
+    @Operation(summary = "Update TestCase Statuses In Bulk",
+            description = "Update the status of many testcases of logged-in user, for example after a pipeline run",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see the result of each testcase"),
+            @ApiResponse(responseCode = "400", description = "Malformed request"),
+            @ApiResponse(responseCode = "417", description = "Unable to update testcase statuses")
+    })
+    public ResponseEntity<CustomResponse> updateTestCaseStatuses(@RequestBody final BulkStatusUpdateDto bulkStatusUpdateDto,
+                                                                 SecurityContextHolder securityContextHolder) {
+        try {
+            log.info("Attempt bulk TestCase status updating");
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final List<BulkRowResult> results = testCaseBulkService.updateTestCaseStatuses(bulkStatusUpdateDto, userId);
+            final long updated = results.stream().filter(BulkRowResult::isSuccess).count();
+            final String message = "Updated " + updated + " of " + results.size() + " test cases";
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(results)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (final CustomException cs) {
+            final String message = cs.getMessage();
+            log.error(message, cs);
+            final HttpStatus httpStatus = cs.getStatus() == HttpStatus.BAD_REQUEST
+                    ? HttpStatus.BAD_REQUEST : HttpStatus.EXPECTATION_FAILED;
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(httpStatus.value()).status(httpStatus)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, httpStatus);
+        } catch (final Exception e) {
+            final String message = "Unable to update TestCase statuses";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
     @PutMapping("/update-status/{testCaseId}")
     @Operation(summary = "Update TestCase Status", description = "Update existing testcase status for logged-in user",
+            deprecated = true,
             security = { @SecurityRequirement(name = "Bearer Token") })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "TestCase status updated successfully"),
+            @ApiResponse(responseCode = "404", description = "TestCase not found"),
+            @ApiResponse(responseCode = "409", description = "TestCase kept changing concurrently, retry the request"),
             @ApiResponse(responseCode = "417", description = "Unable to update testcase status")
     })
     public ResponseEntity<CustomResponse> updateTestCaseStatus(@PathVariable("testCaseId") Long testCaseId,
@@ -129,23 +359,26 @@ public class TestCaseController {
         try {
             log.info("Attempt TestCase status updating");
             final String message = "successful";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            final TestCase testCase = TCService.updateTestCaseStatus(testCaseId, user, status);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            TCService.updateTestCaseStatus(testCaseId, userId, status);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
                     .message(message).success(true)
-                    .data(testCase)
                     .build();
             log.info(message);
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (final CustomException cs) {
             final String message = cs.getMessage();
             log.error(message, cs);
+            final HttpStatus httpStatus = switch (cs.getStatus()) {
+                case NOT_FOUND, CONFLICT -> cs.getStatus();
+                default -> HttpStatus.EXPECTATION_FAILED;
+            };
             CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
-                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .statusCode(httpStatus.value()).status(httpStatus)
                     .message(message).success(false)
                     .build();
-            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+            return new ResponseEntity<>(response, httpStatus);
         } catch (final Exception e) {
             final String message = "Unable to update TestCase status";
             log.error(message, e);
@@ -159,9 +392,12 @@ public class TestCaseController {
 
     @PutMapping("/update-priority/{testCaseId}")
     @Operation(summary = "Update TestCase Priority", description = "Update existing testcase priority for logged-in user",
+            deprecated = true,
             security = { @SecurityRequirement(name = "Bearer Token") })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "TestCase status updated successfully"),
+            @ApiResponse(responseCode = "404", description = "TestCase not found"),
+            @ApiResponse(responseCode = "409", description = "TestCase kept changing concurrently, retry the request"),
             @ApiResponse(responseCode = "417", description = "Unable to update testcase status")
     })
     public ResponseEntity<CustomResponse> updateTestCasePriority(@PathVariable("testCaseId") Long testCaseId,
@@ -170,23 +406,26 @@ public class TestCaseController {
         try {
             log.info("Attempt TestCase priority updating");
             final String message = "successful";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            final TestCase testCase = TCService.updateTestCasePriority(testCaseId, user, priority);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            TCService.updateTestCasePriority(testCaseId, userId, priority);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
                     .message(message).success(true)
-                    .data(testCase)
                     .build();
             log.info(message);
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (final CustomException cs) {
             final String message = cs.getMessage();
             log.error(message, cs);
+            final HttpStatus httpStatus = switch (cs.getStatus()) {
+                case NOT_FOUND, CONFLICT -> cs.getStatus();
+                default -> HttpStatus.EXPECTATION_FAILED;
+            };
             CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
-                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .statusCode(httpStatus.value()).status(httpStatus)
                     .message(message).success(false)
                     .build();
-            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+            return new ResponseEntity<>(response, httpStatus);
         } catch (final Exception e) {
             final String message = "Unable to update TestCase priority";
             log.error(message, e);
@@ -199,20 +438,37 @@ public class TestCaseController {
     }
 
     @GetMapping
-    @Operation(summary = "All TestCase", description = "Retrieve all user TestCases",
+    @Operation(summary = "All TestCase",
+            description = "Retrieve user TestCases, by page number when page is given, otherwise by cursor. " +
+                    "Cursor pages cost the same at any depth, pass the returned nextCursor to get the next one. " +
+                    "Page number requests can skip the totals with includeTotals=false. " +
+                    "Filter by status, priority and created/updated time ranges, and sort by createdOn, updatedOn, " +
+                    "priority or status with page numbers",
             security = { @SecurityRequirement(name = "Bearer Token") })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User Testcases fetched successfully"),
+            @ApiResponse(responseCode = "304", description = "User Testcases unchanged since the If-None-Match tag"),
             @ApiResponse(responseCode = "417", description = "Unable to fetch user testcases")
     })
     public ResponseEntity<CustomResponse> getAllTestCases(SecurityContextHolder securityContextHolder,
-                                                         @RequestParam("page") int page,
-                                                         @RequestParam("size") int size) {
+                                                         ServletWebRequest webRequest,
+                                                         @RequestParam(value = "page", required = false) Integer page,
+                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "includeTotals", defaultValue = "true") boolean includeTotals,
+                                                         @RequestParam("size") int size,
+                                                         @ParameterObject TestCaseFilter filter) {
         try {
             log.info("Attempt to fetch all user TestCases");
             final String message = "User testcases fetched successfully";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            final PageResponse pageResponse = TCService.getAllTestCases(user, page, size);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            // read before the page so a change committed meanwhile leaves the page tagged as older
+            if (notModified(webRequest, testCaseChangeCounter.getRevision(userId))) {
+                log.info("User testcases not modified");
+                return null;
+            }
+            final PageResponse pageResponse = page != null
+                    ? TCService.getAllTestCases(userId, filter, page, size, includeTotals)
+                    : TCService.getTestCasesAfter(userId, filter, cursor, size);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
                     .message(message).success(true)
@@ -231,27 +487,192 @@ public class TestCaseController {
         }
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search TestCases",
+            description = "Full-text search over the title and description of logged-in user testcases, best match first",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "503", description = "Search index is still loading"),
+            @ApiResponse(responseCode = "417", description = "Unable to search testcases")
+    })
+    public ResponseEntity<CustomResponse> searchTestCases(@RequestParam("q") final String query,
+                                                          @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                          SecurityContextHolder securityContextHolder) {
+        try {
+            log.info("Attempt TestCase search");
+            final String message = "User testcases searched successfully";
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final List<TestCaseView> testCases = testCaseSearchService.searchTestCases(userId, query,
+                    Math.max(1, Math.min(limit, 100)));
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(testCases)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (final CustomException cs) {
+            final String message = cs.getMessage();
+            log.error(message, cs);
+            final HttpStatus httpStatus = cs.getStatus() == HttpStatus.SERVICE_UNAVAILABLE
+                    ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.EXPECTATION_FAILED;
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(httpStatus.value()).status(httpStatus)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, httpStatus);
+        } catch (final Exception e) {
+            final String message = "Unable to search TestCases";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
+    @GetMapping("/dashboard")
+    @Operation(summary = "TestCase Dashboard",
+            description = "Number of logged-in user testcases in total and by status, priority and both",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TestCase counts retrieved successfully"),
+            @ApiResponse(responseCode = "417", description = "Unable to retrieve testcase counts")
+    })
+    public ResponseEntity<CustomResponse> getTestCaseCounts(SecurityContextHolder securityContextHolder) {
+        try {
+            log.info("Attempt TestCase dashboard retrieval");
+            final String message = "User testcase counts retrieved successfully";
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            final TestCaseCounts testCaseCounts = testCaseDashboardService.getCounts(userId);
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(testCaseCounts)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (final Exception e) {
+            final String message = "Unable to retrieve TestCase counts";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export TestCases", description = "Stream all testcases of logged-in user as NDJSON or CSV",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TestCases exported successfully"),
+            @ApiResponse(responseCode = "417", description = "Unable to export testcases")
+    })
+    public void exportTestCases(@RequestParam(value = "format", defaultValue = "NDJSON") final ExportFormat format,
+                                final HttpServletResponse response,
+                                SecurityContextHolder securityContextHolder) throws IOException {
+        try {
+            log.info("Attempt TestCase export");
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(format.getContentType());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("test-cases." + format.getExtension()).build().toString());
+            testCaseExportService.exportTestCases(userId, format, response.getOutputStream());
+            log.info("TestCases exported successfully");
+        } catch (final Exception e) {
+            final String message = "Unable to export TestCases";
+            log.error(message, e);
+            if (response.isCommitted()) {
+                // part of the export is already on the wire, all that is left is to cut it short
+                throw e;
+            }
+            response.reset();
+            CustomResponse customResponse = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            response.setStatus(HttpStatus.EXPECTATION_FAILED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), customResponse);
+        }
+    }
+
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "TestCase Feed",
+            description = "Server-Sent Events of changes to logged-in user testcases, named created, updated, status, "
+                    + "priority and deleted. Reconnecting with Last-Event-ID replays missed events, a resync event "
+                    + "means events were dropped and the testcases should be reloaded",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed to user testcase changes"),
+            @ApiResponse(responseCode = "417", description = "Unable to subscribe to user testcase changes")
+    })
+    public SseEmitter streamTestCaseChanges(@RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId,
+                                            final HttpServletResponse response,
+                                            SecurityContextHolder securityContextHolder) throws IOException {
+        try {
+            log.info("Attempt TestCase feed subscription");
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            // keeps proxies that buffer responses from holding events back
+            response.setHeader("X-Accel-Buffering", "no");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            return testCaseFeedService.subscribe(userId, lastEventId);
+        } catch (final Exception e) {
+            final String message = "Unable to subscribe to TestCase changes";
+            log.error(message, e);
+            CustomResponse customResponse = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            response.setStatus(HttpStatus.EXPECTATION_FAILED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), customResponse);
+            return null;
+        }
+    }
+
     @GetMapping("/{testCaseId}")
     @Operation(summary = "Get TestCase", description = "Get TestCase by id",
             security = { @SecurityRequirement(name = "Bearer Token") })
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User testcase fetched successfully"),
+            @ApiResponse(responseCode = "304", description = "User testcase unchanged since the If-None-Match tag"),
             @ApiResponse(responseCode = "417", description = "Unable to fetch user testcase")
     })
     public ResponseEntity<CustomResponse> getTestCaseById(SecurityContextHolder securityContextHolder,
+                                                         ServletWebRequest webRequest,
                                                          @PathVariable("testCaseId") Long testCaseId) {
         try {
             log.info("Attempt to fetch user testcase");
             final String message = "User testcase fetched successfully";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            final Optional<TestCase> testCase = TCService.getUserTestCaseById(testCaseId, user);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                final Optional<Long> version = TCService.getUserTestCaseVersion(testCaseId, userId);
+                if (version.isPresent() && notModified(webRequest, testCaseTag(testCaseId, version.get()))) {
+                    log.info("User testcase not modified");
+                    return null;
+                }
+            }
+            final Optional<TestCaseView> testCase = TCService.getUserTestCaseById(testCaseId, userId);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
                     .message(message).success(true)
                     .data(testCase)
                     .build();
             log.info(message);
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            if (testCase.isEmpty()) {
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            }
+            return ResponseEntity.ok()
+                    .eTag(testCaseTag(testCaseId, testCase.get().getVersion()))
+                    .cacheControl(REVALIDATE)
+                    .body(response);
         } catch (final Exception e) {
             final String message = "Unable to fetch user testcase";
             log.error(message, e);
@@ -275,8 +696,8 @@ public class TestCaseController {
         try {
             log.info("Attempt to delete user testcase");
             final String message = "User testcase deleted successfully";
-            final User user = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder);
-            TCService.deleteUserTestCase(testCaseId, user);
+            final Long userId = SecurityConfig.extractUserDetailsFromSecurityContext(securityContextHolder).getId();
+            TCService.deleteUserTestCase(testCaseId, userId);
             final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
                     .message(message).success(true)
@@ -293,4 +714,31 @@ public class TestCaseController {
             return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
         }
     }
+
+    // clients may keep test case responses but must revalidate them with If-None-Match on every use
+    private static boolean notModified(final ServletWebRequest webRequest, final String etag) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        return webRequest.checkNotModified(etag);
+    }
+
+    private static String testCaseTag(final Long testCaseId, final long version) {
+        return testCaseId + "-" + version;
+    }
+
+    private static long expectedVersion(final Long testCaseId, final String ifMatch) throws CustomException {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new CustomException(HttpStatus.PRECONDITION_REQUIRED,
+                    "If-Match header with the ETag the testcase was read with is required");
+        }
+        final String prefix = "\"" + testCaseId + "-";
+        final String etag = ifMatch.trim();
+        if (etag.startsWith(prefix) && etag.endsWith("\"") && etag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+            } catch (final NumberFormatException ignored) {
+                // reported below like any other tag that was not issued for this testcase
+            }
+        }
+        throw new CustomException(HttpStatus.BAD_REQUEST, "If-Match must carry an ETag of this testcase");
+    }
 }
@@ -0,0 +1,50 @@
+package io.aycodes.automataapi.testcase.event;
+
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+
+/**
+ * Published by the test case service whenever a user's test cases change. Listeners that keep derived
+ * state in memory should use {@code @TransactionalEventListener} so they only see committed changes.
+ * {@code title} and {@code description} are set when the change writes them, {@code previous} and
+ * {@code current} when it adds, removes or reclassifies a test case, and are null otherwise.
+ */
+public record TestCaseChangeEvent(Long userId, Long testCaseId, Type type, String title, String description,
+                                  Classification previous, Classification current) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public record Classification(TestCaseStatus status, TestCasePriority priority) {
+    }
+
+    public static TestCaseChangeEvent created(final Long userId, final Long testCaseId, final String title,
+                                              final String description, final Classification current) {
+        return new TestCaseChangeEvent(userId, testCaseId, Type.CREATED, title, description, null, current);
+    }
+
+    public static TestCaseChangeEvent textUpdated(final Long userId, final Long testCaseId, final String title,
+                                                  final String description) {
+        return new TestCaseChangeEvent(userId, testCaseId, Type.UPDATED, title, description, null, null);
+    }
+
+    public static TestCaseChangeEvent reclassified(final Long userId, final Long testCaseId,
+                                                   final Classification previous, final Classification current) {
+        return new TestCaseChangeEvent(userId, testCaseId, Type.UPDATED, null, null, previous, current);
+    }
+
+    public static TestCaseChangeEvent patched(final Long userId, final Long testCaseId, final String title,
+                                              final String description, final Classification previous,
+                                              final Classification current) {
+        return new TestCaseChangeEvent(userId, testCaseId, Type.UPDATED, title, description,
+                current == null ? null : previous, current);
+    }
+
+    public static TestCaseChangeEvent deleted(final Long userId, final Long testCaseId, final Classification previous) {
+        return new TestCaseChangeEvent(userId, testCaseId, Type.DELETED, null, null, previous, null);
+    }
+}
@@ -10,7 +10,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,8 +22,23 @@ import static io.aycodes.automataapi.common.enums.TestCasePriority.MEDIUM;
 import static io.aycodes.automataapi.common.enums.TestCaseStatus.NOT_RUN;
 
 
+/**
+ * Test case of a user. The indexes below are also created by {@code schema-mysql.sql}, so they exist
+ * whatever {@code ddl-auto} is set to, and are kept here so schemas generated by Hibernate match.
+ * Edits through the entity only write the columns that changed. Status, priority and patch updates are
+ * single versioned statements written by {@code TestCaseBatchRepo}.
+ */
 @Entity
-@Table(name = "test_case")
+@Table(name = "test_case", indexes = {
+        @Index(name = "idx_test_case_user_created", columnList = "user_id, createdOn, id"),
+        @Index(name = "idx_test_case_user_updated", columnList = "user_id, updatedOn, id"),
+        @Index(name = "idx_test_case_user_status_created", columnList = "user_id, status, createdOn, id"),
+        @Index(name = "idx_test_case_user_priority_created", columnList = "user_id, priority, createdOn, id"),
+        @Index(name = "idx_test_case_user_status_priority_created", columnList = "user_id, status, priority, createdOn, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "test-case")
+@DynamicUpdate
 @Builder
 @AllArgsConstructor
 @RequiredArgsConstructor
@@ -38,11 +56,13 @@ public class TestCase {
     @NotBlank
     private String              description;
 
+    @Builder.Default
     private TestCaseStatus      status = NOT_RUN;
 
+    @Builder.Default
     private TestCasePriority    priority = MEDIUM;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore
     private User                user;
@@ -53,4 +73,7 @@ public class TestCase {
     @UpdateTimestamp
     private LocalDateTime       updatedOn;
 
+    @Version
+    private long                version;
+
 }
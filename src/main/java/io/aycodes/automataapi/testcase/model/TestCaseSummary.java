@@ -0,0 +1,41 @@
+package io.aycodes.automataapi.testcase.model;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of the number of test cases a user has per status and priority. Rows are only ever
+ * replaced, a user's rows being deleted and written again, so saving one always inserts.
+ */
+@Entity
+@Table(name = "test_case_summary")
+@Builder
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Data
+public class TestCaseSummary implements Persistable<TestCaseSummaryKey> {
+
+    @EmbeddedId
+    private TestCaseSummaryKey  id;
+
+    @Column(name = "total", nullable = false)
+    private long                total;
+
+    @Column(name = "checkpointed_on", nullable = false)
+    private LocalDateTime       checkpointedOn;
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package io.aycodes.automataapi.testcase.model;
+
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Builder
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Data
+public class TestCaseSummaryKey implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long                userId;
+
+    @Column(name = "status", nullable = false)
+    private TestCaseStatus      status;
+
+    @Column(name = "priority", nullable = false)
+    private TestCasePriority    priority;
+}
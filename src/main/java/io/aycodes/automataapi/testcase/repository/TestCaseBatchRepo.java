@@ -0,0 +1,148 @@
+package io.aycodes.automataapi.testcase.repository;
+
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCasePatch;
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import io.aycodes.automataapi.common.utility.QueryCacheInvalidation;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes test cases over plain JDBC. Inserts go as a single batch and read the generated ids back from it,
+ * since Hibernate turns insert batching off for {@code IDENTITY} entities. Updates only match a row while it
+ * still has the version it was read with and move it to the next one, in a single statement per row, and lock
+ * just those rows in the second level cache, where an HQL update would evict every cached test case. Status
+ * and priority are written as ordinals, matching how the entity maps them, and rows start at version 0 as
+ * persisted entities do. Must run inside a transaction, which also keeps cached test case queries from being
+ * served until it completes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TestCaseBatchRepo {
+
+    private static final String     INSERT_SQL = "insert into test_case "
+            + "(title, description, status, priority, user_id, created_on, updated_on, version) values (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String     VERSIONED_UPDATE = "update test_case set %s, updated_on = ?, version = version + 1 "
+            + "where id = ? and user_id = ? and version = ?";
+
+    private final JdbcTemplate      jdbcTemplate;
+    @PersistenceContext
+    private EntityManager           entityManager;
+
+    public List<Long> insertAll(final List<TestCase> testCases, final Long userId) {
+        QueryCacheInvalidation.tablesWritten(entityManager, TestCase.class);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (final TestCase testCase : testCases) {
+                    statement.setString(1, testCase.getTitle());
+                    statement.setString(2, testCase.getDescription());
+                    statement.setInt(3, testCase.getStatus().ordinal());
+                    statement.setInt(4, testCase.getPriority().ordinal());
+                    statement.setLong(5, userId);
+                    statement.setTimestamp(6, Timestamp.valueOf(testCase.getCreatedOn()));
+                    statement.setTimestamp(7, Timestamp.valueOf(testCase.getUpdatedOn()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                final List<Long> ids = new ArrayList<>(testCases.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * @return number of rows updated, 0 when the test case is missing or at another version
+     */
+    public int updateStatus(final Long id, final Long userId, final long version, final TestCaseStatus status,
+                            final LocalDateTime updatedOn) {
+        return update(id, userId, version, List.of("status"), List.of(status.ordinal()), updatedOn);
+    }
+
+    /**
+     * @return number of rows updated, 0 when the test case is missing or at another version
+     */
+    public int updatePriority(final Long id, final Long userId, final long version, final TestCasePriority priority,
+                              final LocalDateTime updatedOn) {
+        return update(id, userId, version, List.of("priority"), List.of(priority.ordinal()), updatedOn);
+    }
+
+    /**
+     * Sets the fields present in the patch.
+     *
+     * @return number of rows updated, 0 when the test case is missing or at another version
+     */
+    public int applyPatch(final Long id, final Long userId, final long version, final TestCasePatch patch,
+                          final LocalDateTime updatedOn) {
+        final List<String> columns = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        if (patch.getTitle() != null) {
+            columns.add("title");
+            values.add(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            columns.add("description");
+            values.add(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            columns.add("status");
+            values.add(patch.getStatus().ordinal());
+        }
+        if (patch.getPriority() != null) {
+            columns.add("priority");
+            values.add(patch.getPriority().ordinal());
+        }
+        return update(id, userId, version, columns, values, updatedOn);
+    }
+
+    /**
+     * Sets the status of each test case still at the version it was read with, all in one batch.
+     *
+     * @return ids of the test cases updated, rows missing or at another version are left out
+     */
+    public Set<Long> updateStatuses(final List<TestCaseRepo.Classified> testCases, final Long userId,
+                                    final TestCaseStatus status, final LocalDateTime updatedOn) {
+        final List<Long> ids = testCases.stream().map(TestCaseRepo.Classified::getId).toList();
+        QueryCacheInvalidation.rowsWritten(entityManager, TestCase.class, ids);
+        final Timestamp timestamp = Timestamp.valueOf(updatedOn);
+        final int[] counts = jdbcTemplate.batchUpdate(VERSIONED_UPDATE.formatted("status = ?"), testCases.stream()
+                .map(testCase -> new Object[] { status.ordinal(), timestamp, testCase.getId(), userId, testCase.getVersion() })
+                .toList());
+        final Set<Long> updated = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                updated.add(ids.get(i));
+            }
+        }
+        return updated;
+    }
+
+    private int update(final Long id, final Long userId, final long version, final List<String> columns,
+                       final List<Object> values, final LocalDateTime updatedOn) {
+        QueryCacheInvalidation.rowsWritten(entityManager, TestCase.class, List.of(id));
+        final String assignments = String.join(", ", columns.stream().map(column -> column + " = ?").toList());
+        final List<Object> arguments = new ArrayList<>(values);
+        arguments.addAll(List.of(Timestamp.valueOf(updatedOn), id, userId, version));
+        return jdbcTemplate.update(VERSIONED_UPDATE.formatted(assignments), arguments.toArray());
+    }
+}
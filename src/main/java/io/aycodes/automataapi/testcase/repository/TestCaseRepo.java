@@ -1,22 +1,98 @@
 package io.aycodes.automataapi.testcase.repository;
 
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
 import io.aycodes.automataapi.testcase.model.TestCase;
-import io.aycodes.automataapi.users.model.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TestCaseRepo extends JpaRepository<TestCase, Long> {
+public interface TestCaseRepo extends JpaRepository<TestCase, Long>, TestCaseRepoCustom {
 
-    Page<TestCase> findAllByUser(User user, Pageable pageable);
+    String VIEW = "select new io.aycodes.automataapi.common.dtos.testcase.TestCaseView(" +
+            "t.id, t.title, t.description, t.status, t.priority, t.createdOn, t.updatedOn, t.version) from TestCase t ";
 
-    Optional<TestCase> findByIdAndUser(Long id, User user);
+    @Query(VIEW + "where t.user.id = :userId")
+    Slice<TestCaseView> findSliceByUserId(Long userId, Pageable pageable);
 
-    void deleteByIdAndUser(Long id, User user);
+    long countByUserId(Long userId);
+
+    @Query(VIEW + "where t.user.id = :userId order by t.createdOn desc, t.id desc")
+    List<TestCaseView> findFirstKeysetPage(Long userId, Pageable pageable);
+
+    @Query(VIEW + "where t.user.id = :userId " +
+            "and (t.createdOn < :createdOn or (t.createdOn = :createdOn and t.id < :id)) " +
+            "order by t.createdOn desc, t.id desc")
+    List<TestCaseView> findKeysetPageAfter(Long userId, LocalDateTime createdOn, Long id, Pageable pageable);
+
+    @Query(VIEW + "where t.user.id = :userId and t.id in :ids")
+    List<TestCaseView> findViewsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t.id as id, t.user.id as userId, t.title as title, t.description as description from TestCase t")
+    Stream<SearchableText> streamAllSearchableText();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<TestCase> findByIdAndUserId(Long id, Long userId);
+
+    @Query(VIEW + "where t.id = :id and t.user.id = :userId")
+    Optional<TestCaseView> findViewByIdAndUserId(Long id, Long userId);
+
+    @Query("select t.version from TestCase t where t.id = :id and t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(Long id, Long userId);
+
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.version as version from TestCase t " +
+            "where t.id = :id and t.user.id = :userId")
+    Optional<Classified> findClassification(Long id, Long userId);
+
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.version as version from TestCase t " +
+            "where t.id in :ids and t.user.id = :userId")
+    List<Classified> findClassifications(Collection<Long> ids, Long userId);
+
+    @Query("select t.user.id as userId, t.status as status, t.priority as priority, count(t) as total from TestCase t " +
+            "group by t.user.id, t.status, t.priority")
+    Stream<ClassificationCount> streamClassificationCounts();
+
+    @Query("select t.user.id as userId, t.status as status, t.priority as priority, count(t) as total from TestCase t " +
+            "where t.user.id = :userId group by t.user.id, t.status, t.priority")
+    List<ClassificationCount> findClassificationCountsByUserId(Long userId);
 
     boolean existsByTitle(String title);
+
+    @Query("select t.title from TestCase t where t.title in :titles")
+    List<String> findExistingTitles(Collection<String> titles);
+
+    interface Classified {
+        Long getId();
+        TestCaseStatus getStatus();
+        TestCasePriority getPriority();
+        long getVersion();
+    }
+
+    interface ClassificationCount {
+        Long getUserId();
+        TestCaseStatus getStatus();
+        TestCasePriority getPriority();
+        long getTotal();
+    }
+
+    interface SearchableText {
+        Long getId();
+        Long getUserId();
+        String getTitle();
+        String getDescription();
+    }
 }
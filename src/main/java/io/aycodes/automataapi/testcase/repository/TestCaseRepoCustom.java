@@ -0,0 +1,27 @@
+package io.aycodes.automataapi.testcase.repository;
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFilter;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.utility.KeysetCursor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Queries whose shape depends on the filter, built with the Criteria API.
+ */
+public interface TestCaseRepoCustom {
+
+    /**
+     * @param after when given, only rows after this cursor; the filter must then have the default sort
+     */
+    List<TestCaseView> findViews(Long userId, TestCaseFilter filter, KeysetCursor after, int offset, int limit);
+
+    long countViews(Long userId, TestCaseFilter filter);
+
+    /**
+     * Forward-only read of every test case of a user for exports, newest first. Rows are pulled with the
+     * {@code test-case.export.fetch-size} of this query alone instead of buffering the whole result.
+     */
+    Stream<TestCaseView> streamByUserId(Long userId);
+}
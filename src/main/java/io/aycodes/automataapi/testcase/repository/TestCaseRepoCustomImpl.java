@@ -0,0 +1,111 @@
+package io.aycodes.automataapi.testcase.repository;
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFilter;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.utility.KeysetCursor;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Every condition is an equality on a leading column or a range on the trailing time column of one of
+ * the composite indexes declared on {@link TestCase}, and every ordering runs in a single direction, so
+ * each supported shape is answered by walking one index rather than sorting the user's rows.
+ */
+public class TestCaseRepoCustomImpl implements TestCaseRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${test-case.export.fetch-size}")
+    private int exportFetchSize;
+
+    @Override
+    public List<TestCaseView> findViews(final Long userId, final TestCaseFilter filter, final KeysetCursor after,
+                                        final int offset, final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TestCaseView> query = cb.createQuery(TestCaseView.class);
+        final Root<TestCase> t = query.from(TestCase.class);
+        query.select(cb.construct(TestCaseView.class, t.get("id"), t.get("title"), t.get("description"),
+                t.get("status"), t.get("priority"), t.get("createdOn"), t.get("updatedOn"), t.get("version")));
+        final List<Predicate> predicates = predicates(cb, t, userId, filter);
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(t.get("createdOn"), after.createdOn()),
+                    cb.and(cb.equal(t.get("createdOn"), after.createdOn()), cb.lessThan(t.get("id"), after.id()))));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(orders(cb, t, filter));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countViews(final Long userId, final TestCaseFilter filter) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<TestCase> t = query.from(TestCase.class);
+        query.select(cb.count(t));
+        query.where(predicates(cb, t, userId, filter).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Stream<TestCaseView> streamByUserId(final Long userId) {
+        return entityManager.createQuery(TestCaseRepo.VIEW + "where t.user.id = :userId "
+                        + "order by t.createdOn desc, t.id desc", TestCaseView.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static List<Predicate> predicates(final CriteriaBuilder cb, final Root<TestCase> t,
+                                              final Long userId, final TestCaseFilter filter) {
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(t.get("user").get("id"), userId));
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(t.get("status"), filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            predicates.add(cb.equal(t.get("priority"), filter.getPriority()));
+        }
+        addRange(cb, t.get("createdOn"), filter.getCreatedFrom(), filter.getCreatedTo(), predicates);
+        addRange(cb, t.get("updatedOn"), filter.getUpdatedFrom(), filter.getUpdatedTo(), predicates);
+        return predicates;
+    }
+
+    private static void addRange(final CriteriaBuilder cb, final Path<LocalDateTime> path, final LocalDateTime from,
+                                 final LocalDateTime to, final List<Predicate> predicates) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(path, to));
+        }
+    }
+
+    private static List<Order> orders(final CriteriaBuilder cb, final Root<TestCase> t, final TestCaseFilter filter) {
+        final List<String> attributes = switch (filter.getSortBy()) {
+            case CREATED_ON -> List.of("createdOn", "id");
+            case UPDATED_ON -> List.of("updatedOn", "id");
+            case PRIORITY -> List.of("priority", "createdOn", "id");
+            case STATUS -> List.of("status", "createdOn", "id");
+        };
+        // ties follow the same direction so the order matches an index read forwards or backwards
+        final boolean ascending = filter.getDirection() == Sort.Direction.ASC;
+        return attributes.stream()
+                .map(attribute -> ascending ? cb.asc(t.get(attribute)) : cb.desc(t.get(attribute)))
+                .toList();
+    }
+}
@@ -0,0 +1,23 @@
+package io.aycodes.automataapi.testcase.repository;
+
+
+import io.aycodes.automataapi.testcase.model.TestCaseSummary;
+import io.aycodes.automataapi.testcase.model.TestCaseSummaryKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TestCaseSummaryRepo extends JpaRepository<TestCaseSummary, TestCaseSummaryKey> {
+
+    @Query("select s from TestCaseSummary s where s.id.userId = :userId")
+    List<TestCaseSummary> findByUserId(Long userId);
+
+    @Modifying
+    @Query("delete from TestCaseSummary s where s.id.userId in :userIds")
+    int deleteByUserIds(Collection<Long> userIds);
+}
@@ -0,0 +1,132 @@
+package io.aycodes.automataapi.testcase.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the title and description of a set of test cases, ranked with Okapi BM25. Title
+ * terms count twice, so a match in the title outranks the same match in the description. A query only
+ * visits the postings of its own terms, so its cost follows how common those terms are rather than how
+ * many documents are indexed. Safe for concurrent use; searches share a read lock.
+ */
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Map<String, Map<Long, Integer>>   postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>>   documents = new HashMap<>();
+    private final Map<Long, Integer>                lengths = new HashMap<>();
+    private long                                    totalLength;
+    private final ReadWriteLock                     lock = new ReentrantReadWriteLock();
+
+    public void put(final Long id, final String title, final String description) {
+        final Map<String, Integer> terms = new HashMap<>();
+        tokenize(title).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> terms.merge(term, 1, Integer::sum));
+        final int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documents.put(id, terms);
+            lengths.put(id, length);
+            totalLength += length;
+            terms.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return at most {@code limit} documents matching any term of the query, best first, ties going to the newest id
+     */
+    public List<SearchHit> search(final String query, final int limit) {
+        final Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        final Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            final int documentCount = documents.size();
+            final double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            for (final String term : terms) {
+                final Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                final double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                matches.forEach((id, frequency) -> {
+                    final double norm = K1 * (1 - B + B * lengths.get(id) / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        final Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::score)
+                .thenComparing(SearchHit::id);
+        // keeps the best hits seen so far with the weakest on top, so each candidate costs at most log(limit)
+        final PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, ranking);
+        scores.forEach((id, score) -> {
+            best.add(new SearchHit(id, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        final List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    static List<String> tokenize(final String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        final List<String> tokens = new ArrayList<>();
+        for (final String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void removeLocked(final Long id) {
+        final Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        totalLength -= lengths.remove(id);
+        terms.keySet().forEach(term -> {
+            final Map<Long, Integer> matches = postings.get(term);
+            matches.remove(id);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+}
@@ -0,0 +1,4 @@
+package io.aycodes.automataapi.testcase.search;
+
+public record SearchHit(Long id, double score) {
+}
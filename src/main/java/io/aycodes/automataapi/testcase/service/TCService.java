@@ -1,29 +1,41 @@
 package io.aycodes.automataapi.testcase.service;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.PageResponse;
 import io.aycodes.automataapi.common.dtos.testcase.TestCaseDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFilter;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
 import io.aycodes.automataapi.common.enums.TestCasePriority;
 import io.aycodes.automataapi.common.enums.TestCaseStatus;
 import io.aycodes.automataapi.testcase.model.TestCase;
-import io.aycodes.automataapi.users.model.User;
 
 import java.util.Optional;
 
 public interface TCService {
 
-    PageResponse getAllTestCases(User user, int page, int size);
+    PageResponse getAllTestCases(Long userId, TestCaseFilter filter, int page, int size, boolean includeTotals);
 
-    Optional<TestCase> getUserTestCaseById(Long id, User user);
+    PageResponse getTestCasesAfter(Long userId, TestCaseFilter filter, String cursor, int size);
 
-    TestCase createTestCaseForUser(TestCaseDto testCaseDto, User user) throws CustomException;
+    Optional<TestCaseView> getUserTestCaseById(Long id, Long userId);
 
-    TestCase updateUserTestCase(Long id, TestCaseDto testCaseDto, User user) throws CustomException;
+    Optional<Long> getUserTestCaseVersion(Long id, Long userId);
 
-    TestCase updateTestCasePriority(Long id, User user, TestCasePriority priority) throws CustomException;
+    TestCase createTestCaseForUser(TestCaseDto testCaseDto, Long userId) throws CustomException;
 
-    TestCase updateTestCaseStatus(Long id, User user, TestCaseStatus status) throws CustomException;
+    TestCase updateUserTestCase(Long id, TestCaseDto testCaseDto, Long userId) throws CustomException;
 
-    void deleteUserTestCase(Long id, User user);
+    /**
+     * Applies a JSON merge patch of title, description, status and priority in one update, provided the
+     * test case is still at {@code version}.
+     */
+    TestCaseView patchUserTestCase(Long id, Long userId, long version, JsonNode mergePatch) throws CustomException;
+
+    void updateTestCasePriority(Long id, Long userId, TestCasePriority priority) throws CustomException;
+
+    void updateTestCaseStatus(Long id, Long userId, TestCaseStatus status) throws CustomException;
+
+    void deleteUserTestCase(Long id, Long userId);
 }
@@ -0,0 +1,24 @@
+package io.aycodes.automataapi.testcase.service;
+
+
+import io.aycodes.automataapi.common.dtos.BulkImportSummary;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
+import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.testcase.BulkStatusUpdateDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseDto;
+import io.aycodes.automataapi.common.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+
+public interface TestCaseBulkService {
+
+    List<BulkRowResult> createTestCases(final Iterator<TestCaseDto> testCaseDtos, final Long userId);
+
+    BulkImportSummary importTestCases(final InputStream inputStream, final ExportFormat format, final Long userId)
+            throws IOException, CustomException;
+
+    List<BulkRowResult> updateTestCaseStatuses(final BulkStatusUpdateDto bulkStatusUpdateDto, final Long userId) throws CustomException;
+}
@@ -0,0 +1,6 @@
+package io.aycodes.automataapi.testcase.service;
+
+public interface TestCaseChangeCounter {
+
+    String getRevision(final Long userId);
+}
@@ -0,0 +1,6 @@
+package io.aycodes.automataapi.testcase.service;
+
+public interface TestCaseCountCache {
+
+    long getCount(final Long userId);
+}
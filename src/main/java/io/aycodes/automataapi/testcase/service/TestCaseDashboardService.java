@@ -0,0 +1,9 @@
+package io.aycodes.automataapi.testcase.service;
+
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseCounts;
+
+public interface TestCaseDashboardService {
+
+    TestCaseCounts getCounts(final Long userId);
+}
@@ -0,0 +1,12 @@
+package io.aycodes.automataapi.testcase.service;
+
+
+import io.aycodes.automataapi.common.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TestCaseExportService {
+
+    void exportTestCases(final Long userId, final ExportFormat format, final OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,8 @@
+package io.aycodes.automataapi.testcase.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TestCaseFeedService {
+
+    SseEmitter subscribe(final Long userId, final String lastEventId);
+}
@@ -0,0 +1,12 @@
+package io.aycodes.automataapi.testcase.service;
+
+
+import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+
+import java.util.List;
+
+public interface TestCaseSearchService {
+
+    List<TestCaseView> searchTestCases(final Long userId, final String query, final int limit) throws CustomException;
+}
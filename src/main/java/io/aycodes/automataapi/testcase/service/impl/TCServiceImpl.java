@@ -1,26 +1,43 @@
 package io.aycodes.automataapi.testcase.service.impl;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.PageResponse;
 import io.aycodes.automataapi.common.dtos.testcase.TestCaseDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFilter;
+import io.aycodes.automataapi.common.dtos.testcase.TestCasePatch;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
 import io.aycodes.automataapi.common.enums.TestCasePriority;
 import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import io.aycodes.automataapi.common.utility.KeysetCursor;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
 import io.aycodes.automataapi.testcase.model.TestCase;
+import io.aycodes.automataapi.testcase.repository.TestCaseBatchRepo;
 import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
 import io.aycodes.automataapi.testcase.service.TCService;
-import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.testcase.service.TestCaseCountCache;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 
 @Service
 @Transactional
@@ -28,30 +45,124 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TCServiceImpl implements TCService {
 
-    private final TestCaseRepo  testCaseRepo;
+    private final TestCaseRepo              testCaseRepo;
+    private final TestCaseBatchRepo         testCaseBatchRepo;
+    private final UserRepo                  userRepo;
+    private final TestCaseCountCache        testCaseCountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory      entityManagerFactory;
 
     @Override
-    public PageResponse getAllTestCases(final User user, final int page, final int size) {
+    @Transactional(readOnly = true)
+    public PageResponse getAllTestCases(final Long userId, final TestCaseFilter filter, final int page, final int size,
+                                        final boolean includeTotals) {
+        if (filter.hasConditions() || !filter.hasDefaultSort()) {
+            return getFilteredTestCases(userId, filter, page, size, includeTotals);
+        }
         log.info("Retrieving all user Testcases");
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
-        Page<TestCase> testCasePage = testCaseRepo.findAllByUser(user, pageable);
-        List<TestCase> testCaseList = testCasePage.getContent();
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending().and(Sort.by("id").descending()));
+        // a slice reads one extra row for hasNext instead of running a count, totals come from the count cache
+        Slice<TestCaseView> testCaseSlice = testCaseRepo.findSliceByUserId(userId, pageable);
+        List<TestCaseView> testCaseList = testCaseSlice.getContent();
+        PageResponse pageResponse = PageResponse.builder()
+                .pageContent(testCaseList)
+                .currentPage(testCaseSlice.getNumber())
+                .hasNext(testCaseSlice.hasNext())
+                .build();
+        if (includeTotals) {
+            final long totalItems = testCaseCountCache.getCount(userId);
+            pageResponse.setTotalItems(totalItems);
+            pageResponse.setTotalPages((int) ((totalItems + size - 1) / size));
+        }
+        return pageResponse;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse getTestCasesAfter(final Long userId, final TestCaseFilter filter, final String cursor, final int size) {
+        if (!filter.hasDefaultSort()) {
+            throw new IllegalArgumentException("Cursor pages are only available newest first, use page numbers to sort");
+        }
+        log.info("Retrieving user Testcases after cursor");
+        // one extra row tells whether another page exists without counting the user's test cases
+        final Pageable limit = PageRequest.of(0, size + 1);
+        final List<TestCaseView> rows;
+        if (filter.hasConditions()) {
+            final KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+            rows = testCaseRepo.findViews(userId, filter, after, 0, size + 1);
+        } else if (cursor == null || cursor.isEmpty()) {
+            rows = testCaseRepo.findFirstKeysetPage(userId, limit);
+        } else {
+            final KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = testCaseRepo.findKeysetPageAfter(userId, after.createdOn(), after.id(), limit);
+        }
+        final boolean hasNext = rows.size() > size;
+        final List<TestCaseView> testCaseList = hasNext ? rows.subList(0, size) : rows;
+        final TestCaseView last = testCaseList.isEmpty() ? null : testCaseList.get(testCaseList.size() - 1);
         return PageResponse.builder()
                 .pageContent(testCaseList)
-                .currentPage(testCasePage.getNumber())
-                .totalItems(testCasePage.getTotalElements())
-                .totalPages(testCasePage.getTotalPages())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new KeysetCursor(last.getCreatedOn(), last.getId()).encode() : null)
                 .build();
     }
 
+    private PageResponse getFilteredTestCases(final Long userId, final TestCaseFilter filter, final int page, final int size,
+                                              final boolean includeTotals) {
+        log.info("Retrieving filtered user Testcases");
+        final List<TestCaseView> rows = testCaseRepo.findViews(userId, filter, null, page * size, size + 1);
+        final boolean hasNext = rows.size() > size;
+        final PageResponse pageResponse = PageResponse.builder()
+                .pageContent(hasNext ? rows.subList(0, size) : rows)
+                .currentPage(page)
+                .hasNext(hasNext)
+                .build();
+        if (includeTotals) {
+            // filtered totals change with every status update, so they are counted rather than cached
+            final long totalItems = testCaseRepo.countViews(userId, filter);
+            pageResponse.setTotalItems(totalItems);
+            pageResponse.setTotalPages((int) ((totalItems + size - 1) / size));
+        }
+        return pageResponse;
+    }
+
     @Override
-    public Optional<TestCase> getUserTestCaseById(final Long id, final User user) {
+    @Transactional(readOnly = true)
+    public Optional<TestCaseView> getUserTestCaseById(final Long id, final Long userId) {
         log.info("Retrieving user test case by id");
-        return testCaseRepo.findByIdAndUser(id, user);
+        return findCachedTestCase(id, userId).map(TCServiceImpl::toView);
     }
 
     @Override
-    public TestCase createTestCaseForUser(final TestCaseDto testCaseDto, final User user) throws CustomException {
+    @Transactional(readOnly = true)
+    public Optional<Long> getUserTestCaseVersion(final Long id, final Long userId) {
+        log.info("Retrieving user test case version");
+        // a cached test case answers without a query, otherwise only the version is read rather than the whole row
+        if (entityManagerFactory.getCache().contains(TestCase.class, id)) {
+            return findCachedTestCase(id, userId).map(TestCase::getVersion);
+        }
+        return testCaseRepo.findVersionByIdAndUserId(id, userId);
+    }
+
+    // by primary key, so repeated reads are answered from the second level cache without a query
+    private Optional<TestCase> findCachedTestCase(final Long id, final Long userId) {
+        return testCaseRepo.findById(id).filter(testCase -> testCase.getUser().getId().equals(userId));
+    }
+
+    private static TestCaseView toView(final TestCase testCase) {
+        return TestCaseView.builder()
+                .id(testCase.getId())
+                .title(testCase.getTitle())
+                .description(testCase.getDescription())
+                .status(testCase.getStatus())
+                .priority(testCase.getPriority())
+                .createdOn(testCase.getCreatedOn())
+                .updatedOn(testCase.getUpdatedOn())
+                .version(testCase.getVersion())
+                .build();
+    }
+
+    @Override
+    public TestCase createTestCaseForUser(final TestCaseDto testCaseDto, final Long userId) throws CustomException {
         log.info("checking for testcase title duplicate");
         if (testCaseRepo.existsByTitle(testCaseDto.getTitle())) {
             final String message = "TestCase with same name already exists";
@@ -62,15 +173,18 @@ public class TCServiceImpl implements TCService {
         TestCase testCase = TestCase.builder()
                 .title(testCaseDto.getTitle())
                 .description(testCaseDto.getDescription())
-                .user(user)
+                .user(userRepo.getReferenceById(userId))
                 .build();
         log.info("Persisting new TestCase to db");
-        return testCaseRepo.save(testCase);
+        final TestCase savedTestCase = testCaseRepo.save(testCase);
+        eventPublisher.publishEvent(TestCaseChangeEvent.created(userId, savedTestCase.getId(), savedTestCase.getTitle(),
+                savedTestCase.getDescription(), new Classification(savedTestCase.getStatus(), savedTestCase.getPriority())));
+        return savedTestCase;
     }
 
     @Override
-    public TestCase updateUserTestCase(final Long id, final TestCaseDto testCaseDto, final User user) throws CustomException {
-        Optional<TestCase> testCase = testCaseRepo.findByIdAndUser(id, user);
+    public TestCase updateUserTestCase(final Long id, final TestCaseDto testCaseDto, final Long userId) throws CustomException {
+        Optional<TestCase> testCase = testCaseRepo.findByIdAndUserId(id, userId);
         if (testCase.isEmpty()) {
             final String message = "TestCase not found";
             log.error(message);
@@ -79,38 +193,143 @@ public class TCServiceImpl implements TCService {
         testCase.get().setTitle(testCaseDto.getTitle());
         testCase.get().setDescription(testCaseDto.getDescription());
         log.info("Persisting updated TestCase info to db");
-        return testCaseRepo.save(testCase.get());
+        final TestCase savedTestCase = testCaseRepo.save(testCase.get());
+        eventPublisher.publishEvent(TestCaseChangeEvent.textUpdated(userId, id, savedTestCase.getTitle(),
+                savedTestCase.getDescription()));
+        return savedTestCase;
     }
 
     @Override
-    public TestCase updateTestCasePriority(final Long id, final User user, final TestCasePriority priority) throws CustomException {
-        Optional<TestCase> testCase = testCaseRepo.findByIdAndUser(id, user);
-        if (testCase.isEmpty()) {
+    public TestCaseView patchUserTestCase(final Long id, final Long userId, final long version,
+                                         final JsonNode mergePatch) throws CustomException {
+        final TestCasePatch patch = toPatch(mergePatch);
+        final Optional<TestCaseView> current = testCaseRepo.findViewByIdAndUserId(id, userId);
+        if (current.isEmpty()) {
             final String message = "TestCase not found";
             log.error(message);
-            throw new CustomException(message);
+            throw new CustomException(HttpStatus.NOT_FOUND, message);
+        }
+        final TestCaseView testCase = current.get();
+        if (testCase.getVersion() != version) {
+            final String message = "TestCase was changed since it was read";
+            log.error(message);
+            throw new CustomException(HttpStatus.CONFLICT, message);
+        }
+        if (patch.isEmpty()) {
+            return testCase;
+        }
+        if (patch.getTitle() != null && !patch.getTitle().equals(testCase.getTitle())
+                && testCaseRepo.existsByTitle(patch.getTitle())) {
+            final String message = "TestCase with same name already exists";
+            log.error(message);
+            throw new CustomException(HttpStatus.CONFLICT, message);
+        }
+        log.info("Persisting TestCase patch to db");
+        final LocalDateTime updatedOn = LocalDateTime.now();
+        if (testCaseBatchRepo.applyPatch(id, userId, version, patch, updatedOn) == 0) {
+            final String message = "TestCase was changed since it was read";
+            log.error(message);
+            throw new CustomException(HttpStatus.CONFLICT, message);
+        }
+        // the update matched the version read above, so that read is exactly the state it replaced
+        final Classification previous = new Classification(testCase.getStatus(), testCase.getPriority());
+        Optional.ofNullable(patch.getTitle()).ifPresent(testCase::setTitle);
+        Optional.ofNullable(patch.getDescription()).ifPresent(testCase::setDescription);
+        Optional.ofNullable(patch.getStatus()).ifPresent(testCase::setStatus);
+        Optional.ofNullable(patch.getPriority()).ifPresent(testCase::setPriority);
+        testCase.setUpdatedOn(updatedOn);
+        testCase.setVersion(version + 1);
+        final Classification next = new Classification(testCase.getStatus(), testCase.getPriority());
+        final boolean textChanged = patch.getTitle() != null || patch.getDescription() != null;
+        eventPublisher.publishEvent(TestCaseChangeEvent.patched(userId, id,
+                textChanged ? testCase.getTitle() : null, textChanged ? testCase.getDescription() : null,
+                previous, next.equals(previous) ? null : next));
+        return testCase;
+    }
+
+    private static TestCasePatch toPatch(final JsonNode mergePatch) throws CustomException {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new CustomException(HttpStatus.BAD_REQUEST, "TestCase patch must be a JSON object");
+        }
+        final TestCasePatch patch = new TestCasePatch();
+        final Iterator<Map.Entry<String, JsonNode>> fields = mergePatch.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            switch (field.getKey()) {
+                case "title" -> patch.setTitle(text(field.getValue(), "Testcase must have a valid title"));
+                case "description" -> patch.setDescription(text(field.getValue(),
+                        "Testcase must have a valid description"));
+                case "status" -> patch.setStatus(constant(TestCaseStatus.class, field.getValue(),
+                        "Testcase must have a valid status"));
+                case "priority" -> patch.setPriority(constant(TestCasePriority.class, field.getValue(),
+                        "Testcase must have a valid priority"));
+                default -> throw new CustomException(HttpStatus.BAD_REQUEST,
+                        "Field " + field.getKey() + " cannot be patched");
+            }
+        }
+        return patch;
+    }
+
+    // a null member would remove the field, which none of the patchable fields allow
+    private static String text(final JsonNode value, final String message) throws CustomException {
+        if (!value.isTextual() || value.asText().isBlank()) {
+            throw new CustomException(HttpStatus.BAD_REQUEST, message);
+        }
+        return value.asText();
+    }
+
+    private static <E extends Enum<E>> E constant(final Class<E> type, final JsonNode value, final String message)
+            throws CustomException {
+        try {
+            return Enum.valueOf(type, text(value, message));
+        } catch (final IllegalArgumentException e) {
+            throw new CustomException(HttpStatus.BAD_REQUEST, message);
         }
-        testCase.get().setPriority(priority);
-        log.info("Persisting updated TestCase info to db");
-        return testCaseRepo.save(testCase.get());
     }
 
     @Override
-    public TestCase updateTestCaseStatus(final Long id, final User user, final TestCaseStatus status) throws CustomException {
-        Optional<TestCase> testCase = testCaseRepo.findByIdAndUser(id, user);
-        if (testCase.isEmpty()) {
+    public void updateTestCasePriority(final Long id, final Long userId, final TestCasePriority priority) throws CustomException {
+        log.info("Updating TestCase priority in db");
+        reclassify(id, userId, previous -> new Classification(previous.status(), priority),
+                version -> testCaseBatchRepo.updatePriority(id, userId, version, priority, LocalDateTime.now()));
+    }
+
+    @Override
+    public void updateTestCaseStatus(final Long id, final Long userId, final TestCaseStatus status) throws CustomException {
+        log.info("Updating TestCase status in db");
+        reclassify(id, userId, previous -> new Classification(status, previous.priority()),
+                version -> testCaseBatchRepo.updateStatus(id, userId, version, status, LocalDateTime.now()));
+    }
+
+    /**
+     * Reads the classification without locking and updates the row in one statement that only matches the
+     * version read, so the dashboard counts move from exactly the classification that was replaced. A row
+     * changed in between is not updated and answered with a conflict for the client to retry.
+     */
+    private void reclassify(final Long id, final Long userId, final UnaryOperator<Classification> change,
+                            final ToIntFunction<Long> versionedUpdate) throws CustomException {
+        final Optional<TestCaseRepo.Classified> classified = testCaseRepo.findClassification(id, userId);
+        if (classified.isEmpty()) {
             final String message = "TestCase not found";
             log.error(message);
-            throw new CustomException(message);
+            throw new CustomException(HttpStatus.NOT_FOUND, message);
         }
-        testCase.get().setStatus(status);
-        log.info("Persisting updated TestCase info to db");
-        return testCaseRepo.save(testCase.get());
+        if (versionedUpdate.applyAsInt(classified.get().getVersion()) == 0) {
+            final String message = "TestCase is being changed by another request, try again";
+            log.error(message);
+            throw new CustomException(HttpStatus.CONFLICT, message);
+        }
+        final Classification previous = new Classification(classified.get().getStatus(), classified.get().getPriority());
+        eventPublisher.publishEvent(TestCaseChangeEvent.reclassified(userId, id, previous, change.apply(previous)));
     }
 
     @Override
-    public void deleteUserTestCase(final Long id, final User user) {
+    public void deleteUserTestCase(final Long id, final Long userId) {
         log.info("Deleting user testcase");
-        testCaseRepo.deleteByIdAndUser(id, user);
+        testCaseRepo.findByIdAndUserId(id, userId).ifPresent(testCase -> {
+            testCaseRepo.delete(testCase);
+            eventPublisher.publishEvent(TestCaseChangeEvent.deleted(userId, id,
+                    new Classification(testCase.getStatus(), testCase.getPriority())));
+        });
     }
 }
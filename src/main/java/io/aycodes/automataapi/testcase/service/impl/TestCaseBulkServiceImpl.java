@@ -0,0 +1,411 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.aycodes.automataapi.common.dtos.BulkImportSummary;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
+import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.MalformedRowException;
+import io.aycodes.automataapi.common.dtos.testcase.BulkStatusUpdateDto;
+import io.aycodes.automataapi.common.dtos.testcase.StatusUpdateDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseDto;
+import io.aycodes.automataapi.common.enums.ExportFormat;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import io.aycodes.automataapi.common.utility.CsvReader;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import io.aycodes.automataapi.testcase.repository.TestCaseBatchRepo;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.testcase.service.TestCaseBulkService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+
+/**
+ * Creates test cases from a streamed request in chunks. Each chunk is validated, checked for existing
+ * titles with one query and inserted as one JDBC batch in its own transaction. Status updates are grouped
+ * by status and applied a chunk of ids at a time, each chunk being one select without locks and one batch of
+ * updates guarded by the versions it read.
+ */
+@Service
+@Slf4j
+public class TestCaseBulkServiceImpl implements TestCaseBulkService {
+
+    private final TestCaseRepo                  testCaseRepo;
+    private final TestCaseBatchRepo             testCaseBatchRepo;
+    private final Validator                     validator;
+    private final TransactionTemplate           transactionTemplate;
+    private final ApplicationEventPublisher     eventPublisher;
+    private final ObjectMapper                  objectMapper;
+    private final int                           chunkSize;
+    private final int                           maxRows;
+    private final int                           maxImportErrors;
+
+    public TestCaseBulkServiceImpl(final TestCaseRepo testCaseRepo,
+                                   final TestCaseBatchRepo testCaseBatchRepo,
+                                   final Validator validator,
+                                   final TransactionTemplate transactionTemplate,
+                                   final ApplicationEventPublisher eventPublisher,
+                                   final ObjectMapper objectMapper,
+                                   @Value("${bulk.chunk-size}") final int chunkSize,
+                                   @Value("${bulk.test-case.max-rows}") final int maxRows,
+                                   @Value("${bulk.max-import-errors}") final int maxImportErrors) {
+        this.testCaseRepo = testCaseRepo;
+        this.testCaseBatchRepo = testCaseBatchRepo;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxImportErrors = maxImportErrors;
+    }
+
+    @Override
+    public List<BulkRowResult> createTestCases(final Iterator<TestCaseDto> testCaseDtos, final Long userId) {
+        final List<BulkRowResult> results = new ArrayList<>();
+        createTestCases(testCaseDtos, userId, results::add);
+        results.sort(Comparator.comparingInt(BulkRowResult::getRow));
+        return results;
+    }
+
+    @Override
+    public BulkImportSummary importTestCases(final InputStream inputStream, final ExportFormat format, final Long userId)
+            throws IOException, CustomException {
+        log.info("Importing user test cases from {}", format);
+        final Iterator<TestCaseDto> testCaseDtos = switch (format) {
+            case NDJSON -> objectMapper.readerFor(TestCaseDto.class).readValues(inputStream);
+            case CSV -> new CsvTestCaseIterator(
+                    new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        };
+        final ImportProgress progress = new ImportProgress(maxImportErrors);
+        createTestCases(testCaseDtos, userId, progress);
+        progress.errors.sort(Comparator.comparingInt(BulkRowResult::getRow));
+        log.info("Imported {} of {} user test cases", progress.created, progress.created + progress.failed);
+        return BulkImportSummary.builder()
+                .totalRows(progress.created + progress.failed)
+                .created(progress.created)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .build();
+    }
+
+    private void createTestCases(final Iterator<TestCaseDto> testCaseDtos, final Long userId,
+                                 final Consumer<BulkRowResult> results) {
+        log.info("Creating user test cases in chunks of {}", chunkSize);
+        final Set<String> seenTitles = new HashSet<>();
+        final List<PendingTestCase> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+        while (true) {
+            final TestCaseDto testCaseDto;
+            try {
+                if (!testCaseDtos.hasNext()) {
+                    break;
+                }
+                testCaseDto = testCaseDtos.next();
+            } catch (final RuntimeJsonMappingException | MalformedRowException e) {
+                results.accept(BulkRowResult.failed(row++, null, "Malformed row"));
+                continue;
+            } catch (final RuntimeException e) {
+                log.error("Unreadable bulk request body", e);
+                results.accept(BulkRowResult.failed(row, null, "Malformed request body, remaining rows were not processed"));
+                break;
+            }
+            if (row == maxRows) {
+                results.accept(BulkRowResult.failed(row, null, "Row limit of " + maxRows + " reached, remaining rows were not processed"));
+                break;
+            }
+            final String rejection = validate(testCaseDto, seenTitles);
+            if (rejection != null) {
+                results.accept(BulkRowResult.failed(row++, testCaseDto.getTitle(), rejection));
+                continue;
+            }
+            chunk.add(new PendingTestCase(row++, testCaseDto));
+            if (chunk.size() == chunkSize) {
+                insert(chunk, userId, results);
+                chunk.clear();
+                log.info("Processed {} rows", row);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(chunk, userId, results);
+        }
+    }
+
+    @Override
+    public List<BulkRowResult> updateTestCaseStatuses(final BulkStatusUpdateDto bulkStatusUpdateDto, final Long userId)
+            throws CustomException {
+        final List<StatusUpdateDto> updates = toUpdates(bulkStatusUpdateDto);
+        if (updates.size() > maxRows) {
+            throw new CustomException(HttpStatus.BAD_REQUEST, "Row limit of " + maxRows + " exceeded");
+        }
+        log.info("Updating {} user test case statuses in chunks of {}", updates.size(), chunkSize);
+        final List<BulkRowResult> results = new ArrayList<>(updates.size());
+        final Set<Long> seenIds = new HashSet<>();
+        final Map<TestCaseStatus, List<PendingStatusUpdate>> groups = new EnumMap<>(TestCaseStatus.class);
+        for (int row = 0; row < updates.size(); row++) {
+            final StatusUpdateDto update = updates.get(row);
+            final String rejection = validate(update, seenIds);
+            if (rejection != null) {
+                final Long testCaseId = update == null ? null : update.getTestCaseId();
+                results.add(BulkRowResult.failed(row, testCaseId == null ? null : testCaseId.toString(), rejection));
+                continue;
+            }
+            groups.computeIfAbsent(update.getStatus(), status -> new ArrayList<>())
+                    .add(new PendingStatusUpdate(row, update.getTestCaseId()));
+        }
+        groups.forEach((status, pending) -> {
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                applyStatus(pending.subList(from, Math.min(from + chunkSize, pending.size())), status, userId, results);
+            }
+        });
+        results.sort(Comparator.comparingInt(BulkRowResult::getRow));
+        return results;
+    }
+
+    private static List<StatusUpdateDto> toUpdates(final BulkStatusUpdateDto bulkStatusUpdateDto) throws CustomException {
+        final boolean hasUpdates = bulkStatusUpdateDto.getUpdates() != null;
+        final boolean hasIds = bulkStatusUpdateDto.getTestCaseIds() != null;
+        if (hasUpdates == hasIds) {
+            throw new CustomException(HttpStatus.BAD_REQUEST, "Provide either updates or a status with testCaseIds");
+        }
+        if (hasUpdates) {
+            return bulkStatusUpdateDto.getUpdates();
+        }
+        if (bulkStatusUpdateDto.getStatus() == null) {
+            throw new CustomException(HttpStatus.BAD_REQUEST, "Status update must have a valid status");
+        }
+        return bulkStatusUpdateDto.getTestCaseIds().stream()
+                .map(id -> new StatusUpdateDto(id, bulkStatusUpdateDto.getStatus()))
+                .toList();
+    }
+
+    private String validate(final StatusUpdateDto update, final Set<Long> seenIds) {
+        if (update == null) {
+            return "Malformed row";
+        }
+        final Set<ConstraintViolation<StatusUpdateDto>> violations = validator.validate(update);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (!seenIds.add(update.getTestCaseId())) {
+            return "TestCase appears more than once in the request";
+        }
+        return null;
+    }
+
+    private void applyStatus(final List<PendingStatusUpdate> chunk, final TestCaseStatus status, final Long userId,
+                             final List<BulkRowResult> results) {
+        final List<Long> ids = chunk.stream().map(PendingStatusUpdate::testCaseId).toList();
+        final Map<Long, TestCaseRepo.Classified> found = new HashMap<>();
+        final Set<Long> updatedIds = transactionTemplate.execute(tx -> {
+            // read without locking, each row is only updated while it still has the version read here,
+            // so the dashboard counts move from exactly the classification read with it
+            final List<TestCaseRepo.Classified> owned = testCaseRepo.findClassifications(ids, userId);
+            owned.forEach(classified -> found.put(classified.getId(), classified));
+            if (owned.isEmpty()) {
+                return Set.<Long>of();
+            }
+            final Set<Long> updated = testCaseBatchRepo.updateStatuses(owned, userId, status, LocalDateTime.now());
+            owned.stream().filter(classified -> updated.contains(classified.getId())).forEach(classified ->
+                    eventPublisher.publishEvent(TestCaseChangeEvent.reclassified(userId, classified.getId(),
+                            new Classification(classified.getStatus(), classified.getPriority()),
+                            new Classification(status, classified.getPriority()))));
+            return updated;
+        });
+        for (final PendingStatusUpdate pending : chunk) {
+            final String key = pending.testCaseId().toString();
+            if (updatedIds.contains(pending.testCaseId())) {
+                results.add(BulkRowResult.updated(pending.row(), key, pending.testCaseId()));
+            } else if (found.containsKey(pending.testCaseId())) {
+                results.add(BulkRowResult.failed(pending.row(), key, "TestCase is being changed by another request, try again"));
+            } else {
+                results.add(BulkRowResult.failed(pending.row(), key, "TestCase not found"));
+            }
+        }
+    }
+
+    private String validate(final TestCaseDto testCaseDto, final Set<String> seenTitles) {
+        final Set<ConstraintViolation<TestCaseDto>> violations = validator.validate(testCaseDto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (!seenTitles.add(normalize(testCaseDto.getTitle()))) {
+            return "Title appears more than once in the request";
+        }
+        return null;
+    }
+
+    private void insert(final List<PendingTestCase> chunk, final Long userId, final Consumer<BulkRowResult> results) {
+        final Set<String> existingTitles = testCaseRepo.findExistingTitles(
+                chunk.stream().map(p -> p.testCaseDto().getTitle()).toList()
+        ).stream().map(TestCaseBulkServiceImpl::normalize).collect(Collectors.toSet());
+        final List<PendingTestCase> accepted = new ArrayList<>(chunk.size());
+        for (final PendingTestCase pendingTestCase : chunk) {
+            if (existingTitles.contains(normalize(pendingTestCase.testCaseDto().getTitle()))) {
+                results.accept(BulkRowResult.failed(pendingTestCase.row(), pendingTestCase.testCaseDto().getTitle(),
+                        "TestCase with same name already exists"));
+            } else {
+                accepted.add(pendingTestCase);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        // same clock as the timestamp annotations on the single create path
+        final LocalDateTime now = LocalDateTime.now();
+        final List<TestCase> testCases = accepted.stream()
+                .map(p -> TestCase.builder()
+                        .title(p.testCaseDto().getTitle())
+                        .description(p.testCaseDto().getDescription())
+                        .createdOn(now)
+                        .updatedOn(now)
+                        .build())
+                .toList();
+        try {
+            final List<Long> ids = transactionTemplate.execute(status -> insertAndPublish(testCases, userId));
+            for (int i = 0; i < accepted.size(); i++) {
+                results.accept(BulkRowResult.created(accepted.get(i).row(), testCases.get(i).getTitle(), ids.get(i)));
+            }
+        } catch (final DataIntegrityViolationException e) {
+            // a concurrent create took one of the titles after the check, find it row by row
+            log.warn("Batch insert conflicted, retrying chunk row by row");
+            for (int i = 0; i < accepted.size(); i++) {
+                final TestCase testCase = testCases.get(i);
+                try {
+                    final List<Long> ids = transactionTemplate.execute(status -> insertAndPublish(List.of(testCase), userId));
+                    results.accept(BulkRowResult.created(accepted.get(i).row(), testCase.getTitle(), ids.get(0)));
+                } catch (final DataIntegrityViolationException rowConflict) {
+                    results.accept(BulkRowResult.failed(accepted.get(i).row(), testCase.getTitle(),
+                            "TestCase with same name already exists"));
+                }
+            }
+        }
+    }
+
+    // events published inside the transaction reach the after-commit listeners only if it commits
+    private List<Long> insertAndPublish(final List<TestCase> testCases, final Long userId) {
+        final List<Long> ids = testCaseBatchRepo.insertAll(testCases, userId);
+        for (int i = 0; i < ids.size(); i++) {
+            final TestCase testCase = testCases.get(i);
+            eventPublisher.publishEvent(TestCaseChangeEvent.created(userId, ids.get(i), testCase.getTitle(),
+                    testCase.getDescription(), new Classification(testCase.getStatus(), testCase.getPriority())));
+        }
+        return ids;
+    }
+
+    private static String normalize(final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingTestCase(int row, TestCaseDto testCaseDto) {
+    }
+
+    private record PendingStatusUpdate(int row, Long testCaseId) {
+    }
+
+    /**
+     * Counts every row of an import but keeps only the first failures, so the summary stays small
+     * however many rows the file has.
+     */
+    private static final class ImportProgress implements Consumer<BulkRowResult> {
+
+        private final int maxErrors;
+        private final List<BulkRowResult> errors = new ArrayList<>();
+        private long created;
+        private long failed;
+
+        private ImportProgress(final int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        @Override
+        public void accept(final BulkRowResult result) {
+            if (result.isSuccess()) {
+                created++;
+                return;
+            }
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(result);
+            }
+        }
+    }
+
+    /**
+     * Reads test cases from a CSV upload a row at a time, by the {@code title} and {@code description}
+     * columns of its header so files exported by this API import unchanged.
+     */
+    private static final class CsvTestCaseIterator implements Iterator<TestCaseDto> {
+
+        private final CsvReader csvReader;
+        private final int titleColumn;
+        private final int descriptionColumn;
+        private List<String> next;
+
+        private CsvTestCaseIterator(final Reader reader) throws IOException, CustomException {
+            this.csvReader = new CsvReader(reader);
+            final List<String> header = csvReader.readRow();
+            if (header == null) {
+                throw new CustomException(HttpStatus.BAD_REQUEST, "CSV file is empty");
+            }
+            final List<String> columns = header.stream()
+                    .map(column -> column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            this.titleColumn = columns.indexOf("title");
+            this.descriptionColumn = columns.indexOf("description");
+            if (titleColumn < 0 || descriptionColumn < 0) {
+                throw new CustomException(HttpStatus.BAD_REQUEST, "CSV header must name a title and a description column");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    final List<String> row = csvReader.readRow();
+                    if (row == null) {
+                        return false;
+                    }
+                    // blank lines carry no row
+                    if (row.size() > 1 || !row.get(0).isEmpty()) {
+                        next = row;
+                    }
+                }
+                return true;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public TestCaseDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final List<String> row = next;
+            next = null;
+            if (row.size() <= Math.max(titleColumn, descriptionColumn)) {
+                throw new MalformedRowException("Row has fewer columns than the header");
+            }
+            return new TestCaseDto(row.get(titleColumn), row.get(descriptionColumn));
+        }
+    }
+}
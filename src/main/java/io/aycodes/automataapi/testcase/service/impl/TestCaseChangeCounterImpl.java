@@ -0,0 +1,47 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.service.TestCaseChangeCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Revision of each user's test cases, moved by every committed change so list responses can be tagged
+ * and revalidated without a query. Only changes committed through this instance move it, so with several
+ * instances behind a load balancer a tag issued by one would keep matching on another after a change there.
+ * Revisions therefore also carry the current {@code etag-window}: every tag stops matching when the window
+ * rolls over, which bounds how long a change made elsewhere can be answered with 304 Not Modified. They
+ * carry the startup time of this instance too, so a tag issued before a restart never matches again, and
+ * entries are never evicted, since a recreated counter would repeat earlier revisions.
+ */
+@Service
+public class TestCaseChangeCounterImpl implements TestCaseChangeCounter {
+
+    private final String                        epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLong>         revisions = new ConcurrentHashMap<>();
+    private final long                          windowMillis;
+
+    public TestCaseChangeCounterImpl(@Value("${test-case.etag-window}") final Duration window) {
+        this.windowMillis = Math.max(1, window.toMillis());
+    }
+
+    @Override
+    public String getRevision(final Long userId) {
+        final AtomicLong revision = revisions.get(userId);
+        // windows follow the clock rather than the startup time, so a tag lives at most one window wherever it was issued
+        final long window = System.currentTimeMillis() / windowMillis;
+        return epoch + "-" + Long.toString(window, 36) + "-" + (revision == null ? 0 : revision.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestCaseChange(final TestCaseChangeEvent event) {
+        revisions.computeIfAbsent(event.userId(), id -> new AtomicLong()).incrementAndGet();
+    }
+}
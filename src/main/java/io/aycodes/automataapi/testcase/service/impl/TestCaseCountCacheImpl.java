@@ -0,0 +1,67 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.testcase.service.TestCaseCountCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Number of test cases per user, counted once and then adjusted in memory as this instance commits
+ * creates and deletes. Entries expire after {@code test-case.count-cache.ttl}, which bounds the drift
+ * from changes made by other instances or from an adjustment racing with the initial count.
+ */
+@Service
+@Slf4j
+public class TestCaseCountCacheImpl implements TestCaseCountCache {
+
+    private final TestCaseRepo                  testCaseRepo;
+    private final Cache<Long, AtomicLong>       cache;
+
+    public TestCaseCountCacheImpl(final TestCaseRepo testCaseRepo,
+                                  @Value("${test-case.count-cache.max-size}") final long maxSize,
+                                  @Value("${test-case.count-cache.ttl}") final Duration ttl,
+                                  final MeterRegistry meterRegistry) {
+        this.testCaseRepo = testCaseRepo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "test-case-count-cache");
+    }
+
+    @Override
+    public long getCount(final Long userId) {
+        return cache.get(userId, id -> {
+            log.info("Test case count cache miss, counting user test cases");
+            return new AtomicLong(testCaseRepo.countByUserId(id));
+        }).get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestCaseChange(final TestCaseChangeEvent event) {
+        final long delta = switch (event.type()) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED -> 0;
+        };
+        if (delta != 0) {
+            // users without an entry are counted from the table on their next read
+            final AtomicLong count = cache.getIfPresent(event.userId());
+            if (count != null) {
+                count.addAndGet(delta);
+            }
+        }
+    }
+}
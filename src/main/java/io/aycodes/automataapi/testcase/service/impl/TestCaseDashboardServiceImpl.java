@@ -0,0 +1,303 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseCounts;
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
+import io.aycodes.automataapi.testcase.model.TestCaseSummary;
+import io.aycodes.automataapi.testcase.model.TestCaseSummaryKey;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.testcase.repository.TestCaseSummaryRepo;
+import io.aycodes.automataapi.testcase.service.TestCaseDashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+
+/**
+ * Per user counts of test cases by status and priority, moved by every committed create, delete and
+ * reclassification so dashboards never group the table. The counts are regrouped from the table at startup
+ * and every {@code reconcile-interval}, which also corrects changes made by other instances. A user's grouped
+ * counts replace the ones in memory only if none of their changes was published while the table was read,
+ * since such a change may already be in the grouping and still about to reach its commit listener. Users left
+ * unreconciled are recounted on their next read. Changed users are checkpointed to {@code test_case_summary},
+ * which answers until the first grouping has finished.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TestCaseDashboardServiceImpl implements TestCaseDashboardService {
+
+    private static final TestCaseStatus[]       STATUSES = TestCaseStatus.values();
+    private static final TestCasePriority[]     PRIORITIES = TestCasePriority.values();
+    private static final int                    CELLS = STATUSES.length * PRIORITIES.length;
+    private static final int                    CHECKPOINT_CHUNK = 500;
+
+    private final TestCaseRepo                              testCaseRepo;
+    private final TestCaseSummaryRepo                       testCaseSummaryRepo;
+    private final TransactionTemplate                       transactionTemplate;
+    private final Map<Long, UserCounts>                     counts = new ConcurrentHashMap<>();
+    private final Set<Long>                                 changedUsers = ConcurrentHashMap.newKeySet();
+    private volatile boolean                                reconciled;
+    private volatile boolean                                fullCheckpointPending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${test-case.dashboard.reconcile-interval}",
+            initialDelayString = "${test-case.dashboard.reconcile-interval}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        final Map<Long, Long> startedBefore = new HashMap<>();
+        counts.forEach((userId, userCounts) -> startedBefore.put(userId, userCounts.started()));
+        final Map<Long, long[]> grouped = new HashMap<>();
+        try (Stream<TestCaseRepo.ClassificationCount> groups = testCaseRepo.streamClassificationCounts()) {
+            groups.forEach(group -> grouped.computeIfAbsent(group.getUserId(), id -> new long[CELLS])
+                    [index(group.getStatus(), group.getPriority())] += group.getTotal());
+        }
+        final Set<Long> userIds = new HashSet<>(grouped.keySet());
+        userIds.addAll(counts.keySet());
+        int corrected = 0;
+        int skipped = 0;
+        for (final Long userId : userIds) {
+            final Reconciled outcome = adopt(userId, startedBefore.getOrDefault(userId, 0L),
+                    grouped.getOrDefault(userId, new long[CELLS]));
+            corrected += outcome == Reconciled.CORRECTED ? 1 : 0;
+            skipped += outcome == Reconciled.SKIPPED ? 1 : 0;
+        }
+        if (!reconciled) {
+            fullCheckpointPending = true;
+            reconciled = true;
+        }
+        log.info("Test case dashboard counts reconciled for {} users, {} corrected, {} left for their next read",
+                userIds.size(), corrected, skipped);
+    }
+
+    @EventListener
+    public void onTestCaseChangePublished(final TestCaseChangeEvent event) {
+        if (reclassifies(event)) {
+            userCounts(event.userId()).published();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestCaseChange(final TestCaseChangeEvent event) {
+        if (reclassifies(event)) {
+            userCounts(event.userId()).committed(event.previous(), event.current());
+            changedUsers.add(event.userId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onTestCaseChangeRolledBack(final TestCaseChangeEvent event) {
+        if (reclassifies(event)) {
+            userCounts(event.userId()).rolledBack();
+        }
+    }
+
+    @Override
+    public TestCaseCounts getCounts(final Long userId) {
+        final UserCounts userCounts = counts.get(userId);
+        final long[] cells = userCounts == null ? null : userCounts.reconciledCells();
+        if (cells != null) {
+            return toCounts(cells);
+        }
+        if (!reconciled) {
+            log.info("Dashboard counts are still loading, reading the last checkpoint");
+            final long[] totals = new long[CELLS];
+            testCaseSummaryRepo.findByUserId(userId).forEach(summary ->
+                    totals[index(summary.getId().getStatus(), summary.getId().getPriority())] = summary.getTotal());
+            return toCounts(totals);
+        }
+        return toCounts(recount(userId));
+    }
+
+    @Scheduled(fixedDelayString = "${test-case.dashboard.checkpoint-interval}",
+            initialDelayString = "${test-case.dashboard.checkpoint-interval}")
+    public void checkpoint() {
+        if (!reconciled) {
+            return;
+        }
+        final boolean full = fullCheckpointPending;
+        final List<Long> userIds = new ArrayList<>(full ? counts.keySet() : changedUsers);
+        // users changed from here on are written again by the next checkpoint
+        userIds.forEach(changedUsers::remove);
+        fullCheckpointPending = false;
+        // users waiting for a recount are written once it has reconciled them
+        final Map<Long, long[]> reconciledCells = new LinkedHashMap<>();
+        userIds.forEach(userId -> Optional.ofNullable(counts.get(userId)).map(UserCounts::reconciledCells)
+                .ifPresent(cells -> reconciledCells.put(userId, cells)));
+        if (reconciledCells.isEmpty() && !full) {
+            return;
+        }
+        final List<Long> checkpointed = new ArrayList<>(reconciledCells.keySet());
+        final LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (full) {
+                    testCaseSummaryRepo.deleteAllInBatch();
+                }
+                for (int from = 0; from < checkpointed.size(); from += CHECKPOINT_CHUNK) {
+                    final List<Long> chunk = checkpointed.subList(from, Math.min(from + CHECKPOINT_CHUNK, checkpointed.size()));
+                    if (!full) {
+                        testCaseSummaryRepo.deleteByUserIds(chunk);
+                    }
+                    testCaseSummaryRepo.saveAll(summaries(reconciledCells, chunk, now));
+                }
+            });
+            log.info("Checkpointed dashboard counts of {} users", checkpointed.size());
+        } catch (final RuntimeException e) {
+            log.error("Unable to checkpoint dashboard counts", e);
+            changedUsers.addAll(checkpointed);
+            fullCheckpointPending |= full;
+        }
+    }
+
+    private long[] recount(final Long userId) {
+        final UserCounts userCounts = counts.get(userId);
+        final long startedBefore = userCounts == null ? 0 : userCounts.started();
+        final long[] fresh = new long[CELLS];
+        testCaseRepo.findClassificationCountsByUserId(userId).forEach(group ->
+                fresh[index(group.getStatus(), group.getPriority())] += group.getTotal());
+        adopt(userId, startedBefore, fresh);
+        return fresh;
+    }
+
+    private Reconciled adopt(final Long userId, final long startedBefore, final long[] fresh) {
+        final Reconciled outcome = userCounts(userId).adopt(startedBefore, fresh);
+        if (outcome == Reconciled.CORRECTED) {
+            changedUsers.add(userId);
+        }
+        return outcome;
+    }
+
+    private UserCounts userCounts(final Long userId) {
+        return counts.computeIfAbsent(userId, id -> new UserCounts());
+    }
+
+    private static boolean reclassifies(final TestCaseChangeEvent event) {
+        return event.previous() != null || event.current() != null;
+    }
+
+    private static List<TestCaseSummary> summaries(final Map<Long, long[]> reconciledCells, final List<Long> userIds,
+                                                   final LocalDateTime now) {
+        final List<TestCaseSummary> summaries = new ArrayList<>();
+        for (final Long userId : userIds) {
+            final long[] cells = reconciledCells.get(userId);
+            for (final TestCaseStatus status : STATUSES) {
+                for (final TestCasePriority priority : PRIORITIES) {
+                    final long total = cells[index(status, priority)];
+                    if (total != 0) {
+                        summaries.add(TestCaseSummary.builder()
+                                .id(new TestCaseSummaryKey(userId, status, priority))
+                                .total(total)
+                                .checkpointedOn(now)
+                                .build());
+                    }
+                }
+            }
+        }
+        return summaries;
+    }
+
+    private static TestCaseCounts toCounts(final long[] totals) {
+        final Map<TestCaseStatus, Long> byStatus = new EnumMap<>(TestCaseStatus.class);
+        final Map<TestCasePriority, Long> byPriority = new EnumMap<>(TestCasePriority.class);
+        final Map<TestCaseStatus, Map<TestCasePriority, Long>> byStatusAndPriority = new EnumMap<>(TestCaseStatus.class);
+        long total = 0;
+        for (final TestCaseStatus status : STATUSES) {
+            final Map<TestCasePriority, Long> row = new EnumMap<>(TestCasePriority.class);
+            for (final TestCasePriority priority : PRIORITIES) {
+                final long count = totals[index(status, priority)];
+                row.put(priority, count);
+                byStatus.merge(status, count, Long::sum);
+                byPriority.merge(priority, count, Long::sum);
+                total += count;
+            }
+            byStatusAndPriority.put(status, row);
+        }
+        return TestCaseCounts.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byStatusAndPriority(byStatusAndPriority)
+                .build();
+    }
+
+    private static int index(final TestCaseStatus status, final TestCasePriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    private enum Reconciled {
+        SKIPPED,
+        UNCHANGED,
+        CORRECTED
+    }
+
+    /**
+     * Counts of one user with the changes published for them and not yet committed or rolled back. The
+     * cells are only reported once a grouping of the table has been adopted, before that they hold deltas.
+     */
+    private static final class UserCounts {
+
+        private final long[]        cells = new long[CELLS];
+        private long                started;
+        private int                 inFlight;
+        private boolean             reconciled;
+
+        synchronized void published() {
+            started++;
+            inFlight++;
+        }
+
+        synchronized void committed(final Classification previous, final Classification current) {
+            inFlight--;
+            if (previous != null) {
+                cells[index(previous.status(), previous.priority())]--;
+            }
+            if (current != null) {
+                cells[index(current.status(), current.priority())]++;
+            }
+        }
+
+        synchronized void rolledBack() {
+            inFlight--;
+        }
+
+        synchronized long started() {
+            return started;
+        }
+
+        synchronized long[] reconciledCells() {
+            return reconciled ? cells.clone() : null;
+        }
+
+        /**
+         * Takes a grouping read after {@code startedBefore} was observed, unless a change was published since
+         * or is still waiting for its commit, either of which the grouping may or may not contain.
+         */
+        synchronized Reconciled adopt(final long startedBefore, final long[] fresh) {
+            if (started != startedBefore || inFlight != 0) {
+                return Reconciled.SKIPPED;
+            }
+            if (reconciled && Arrays.equals(cells, fresh)) {
+                return Reconciled.UNCHANGED;
+            }
+            System.arraycopy(fresh, 0, cells, 0, CELLS);
+            reconciled = true;
+            return Reconciled.CORRECTED;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.enums.ExportFormat;
+import io.aycodes.automataapi.common.utility.CsvWriter;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.testcase.service.TestCaseExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+
+/**
+ * Streams a user's test cases into the response from one forward-only query, so the export is a single
+ * consistent snapshot and only the rows in the driver's current fetch are ever held in memory.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TestCaseExportServiceImpl implements TestCaseExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final TestCaseRepo              testCaseRepo;
+    private final ObjectMapper              objectMapper;
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void exportTestCases(final Long userId, final ExportFormat format, final OutputStream outputStream) throws IOException {
+        log.info("Exporting user test cases as {}", format);
+        try (Stream<TestCaseView> testCases = testCaseRepo.streamByUserId(userId)) {
+            final long exported = switch (format) {
+                case NDJSON -> writeNdjson(testCases.iterator(), outputStream);
+                case CSV -> writeCsv(testCases.iterator(), outputStream);
+            };
+            log.info("Exported {} user test cases", exported);
+        }
+    }
+
+    private long writeNdjson(final Iterator<TestCaseView> testCases, final OutputStream outputStream) throws IOException {
+        long rows = 0;
+        // rows are flushed in groups below rather than after every value
+        final ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            while (testCases.hasNext()) {
+                rowWriter.writeValue(generator, testCases.next());
+                generator.writeRaw('\n');
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(final Iterator<TestCaseView> testCases, final OutputStream outputStream) throws IOException {
+        long rows = 0;
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        final CsvWriter csvWriter = new CsvWriter(writer);
+        csvWriter.writeRow("id", "title", "description", "status", "priority", "createdOn", "updatedOn");
+        while (testCases.hasNext()) {
+            final TestCaseView testCase = testCases.next();
+            csvWriter.writeRow(testCase.getId(), testCase.getTitle(), testCase.getDescription(), testCase.getStatus(),
+                    testCase.getPriority(), testCase.getCreatedOn(), testCase.getUpdatedOn());
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+}
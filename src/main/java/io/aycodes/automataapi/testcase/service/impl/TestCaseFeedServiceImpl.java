@@ -0,0 +1,340 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFeedEvent;
+import io.aycodes.automataapi.common.enums.TestCaseFeedEventType;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
+import io.aycodes.automataapi.testcase.service.TestCaseFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+
+/**
+ * Per user Server-Sent Events feed of committed test case changes. Each user that has subscribed keeps
+ * its last {@code replay-size} events, so a client reconnecting with a Last-Event-ID gets what it missed.
+ * Publishing never writes to a connection: events are offered to a bounded buffer per subscriber and
+ * written by the sender pool, and a subscriber whose buffer overflows loses what was buffered and is
+ * sent a {@code resync} event instead, so a slow client can neither hold up a commit nor grow the heap.
+ * Event ids carry the startup time of this instance, so ids issued before a restart always resync.
+ */
+@Service
+@Slf4j
+public class TestCaseFeedServiceImpl implements TestCaseFeedService {
+
+    private static final String                 RESYNC_EVENT = "resync";
+
+    private final String                        epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong                    sequence = new AtomicLong();
+    private final Map<Long, Feed>               feeds = new ConcurrentHashMap<>();
+    private final Executor                      sender;
+    private final Supplier<SseEmitter>          emitters;
+    private final Counter                       resyncs;
+    private final int                           replaySize;
+    private final long                          replayTtlNanos;
+    private final int                           subscriberBuffer;
+
+    @Autowired
+    public TestCaseFeedServiceImpl(@Value("${test-case.feed.replay-size}") final int replaySize,
+                                   @Value("${test-case.feed.replay-ttl}") final Duration replayTtl,
+                                   @Value("${test-case.feed.subscriber-buffer}") final int subscriberBuffer,
+                                   @Value("${test-case.feed.sender-threads}") final int senderThreads,
+                                   @Value("${test-case.feed.timeout}") final Duration timeout,
+                                   final MeterRegistry meterRegistry) {
+        this(replaySize, replayTtl, subscriberBuffer, senderPool(senderThreads, meterRegistry),
+                () -> new SseEmitter(timeout.toMillis()), meterRegistry);
+    }
+
+    // tests pass an executor they drain themselves and emitters that record what was sent
+    TestCaseFeedServiceImpl(final int replaySize, final Duration replayTtl, final int subscriberBuffer,
+                            final Executor sender, final Supplier<SseEmitter> emitters,
+                            final MeterRegistry meterRegistry) {
+        this.replaySize = replaySize;
+        this.replayTtlNanos = replayTtl.toNanos();
+        this.subscriberBuffer = subscriberBuffer;
+        this.sender = sender;
+        this.emitters = emitters;
+        this.resyncs = Counter.builder("test.case.feed.resyncs")
+                .description("Feed subscribers told to resync after falling behind or resuming from an unknown id")
+                .register(meterRegistry);
+    }
+
+    private static ExecutorService senderPool(final int senderThreads, final MeterRegistry meterRegistry) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        // a subscriber is queued at most once at a time, so the queue never outgrows the subscriber count
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "test-case-feed-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "test-case-feed");
+        return pool;
+    }
+
+    @Override
+    public SseEmitter subscribe(final Long userId, final String lastEventId) {
+        final SseEmitter emitter = emitters.get();
+        final long resumeFrom = resumePoint(lastEventId);
+        final Subscriber[] registered = new Subscriber[1];
+        feeds.compute(userId, (id, existing) -> {
+            final Feed feed = existing == null ? new Feed(userId, sequence.get()) : existing;
+            final List<Entry> missed = lastEventId == null || resumeFrom < feed.droppedThrough
+                    ? List.of()
+                    : feed.replay.stream().filter(entry -> entry.sequence() > resumeFrom).toList();
+            final Subscriber subscriber = new Subscriber(feed, emitter, subscriberBuffer + missed.size());
+            missed.forEach(subscriber.buffer::add);
+            if (lastEventId != null && resumeFrom < feed.droppedThrough) {
+                subscriber.resyncPending.set(true);
+                resyncs.increment();
+            }
+            feed.subscribers.add(subscriber);
+            registered[0] = subscriber;
+            return feed;
+        });
+        final Subscriber subscriber = registered[0];
+        emitter.onCompletion(subscriber::unsubscribe);
+        emitter.onError(error -> subscriber.unsubscribe());
+        emitter.onTimeout(emitter::complete);
+        subscriber.schedule();
+        log.info("User {} subscribed to the test case feed", userId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestCaseChange(final TestCaseChangeEvent event) {
+        // every change moves the sequence, so a feed created later never accepts an id from before it,
+        // but only users that have subscribed keep a feed, anyone else has nothing to resume
+        feeds.compute(event.userId(), (id, feed) -> {
+            final long next = sequence.incrementAndGet();
+            if (feed == null) {
+                return null;
+            }
+            final Entry entry = new Entry(next, toFeedEvent(event));
+            if (feed.replay.size() == replaySize) {
+                feed.droppedThrough = feed.replay.removeFirst().sequence();
+            }
+            feed.replay.addLast(entry);
+            feed.touchedAt = System.nanoTime();
+            feed.subscribers.forEach(subscriber -> subscriber.offer(entry));
+            return feed;
+        });
+    }
+
+    /**
+     * Comments keep idle connections from being closed by proxies and find the clients that went away.
+     * Feeds without subscribers are forgotten once nothing was published to them for {@code replay-ttl}.
+     */
+    @Scheduled(fixedDelayString = "${test-case.feed.heartbeat-interval}",
+            initialDelayString = "${test-case.feed.heartbeat-interval}")
+    public void heartbeat() {
+        final long now = System.nanoTime();
+        feeds.keySet().forEach(userId -> feeds.computeIfPresent(userId, (id, feed) -> {
+            if (feed.subscribers.isEmpty()) {
+                return now - feed.touchedAt > replayTtlNanos ? null : feed;
+            }
+            feed.subscribers.forEach(Subscriber::heartbeat);
+            return feed;
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        feeds.values().forEach(feed -> List.copyOf(feed.subscribers).forEach(subscriber -> subscriber.emitter.complete()));
+        feeds.clear();
+    }
+
+    private long resumePoint(final String lastEventId) {
+        if (lastEventId == null) {
+            return -1;
+        }
+        final int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static TestCaseFeedEvent toFeedEvent(final TestCaseChangeEvent event) {
+        final TestCaseFeedEventType type = typeOf(event);
+        final Classification current = event.current();
+        return TestCaseFeedEvent.builder()
+                .testCaseId(event.testCaseId())
+                .type(type)
+                .title(event.title())
+                .description(event.description())
+                .status(current == null || type == TestCaseFeedEventType.PRIORITY ? null : current.status())
+                .priority(current == null || type == TestCaseFeedEventType.STATUS ? null : current.priority())
+                .occurredOn(LocalDateTime.now())
+                .build();
+    }
+
+    private static TestCaseFeedEventType typeOf(final TestCaseChangeEvent event) {
+        switch (event.type()) {
+            case CREATED:
+                return TestCaseFeedEventType.CREATED;
+            case DELETED:
+                return TestCaseFeedEventType.DELETED;
+            default:
+                if (event.title() != null || event.previous() == null || event.current() == null) {
+                    return TestCaseFeedEventType.UPDATED;
+                }
+                final boolean statusChanged = event.previous().status() != event.current().status();
+                final boolean priorityChanged = event.previous().priority() != event.current().priority();
+                if (statusChanged == priorityChanged) {
+                    return TestCaseFeedEventType.UPDATED;
+                }
+                return statusChanged ? TestCaseFeedEventType.STATUS : TestCaseFeedEventType.PRIORITY;
+        }
+    }
+
+    private record Entry(long sequence, TestCaseFeedEvent data) {
+    }
+
+    /**
+     * Replayable events and subscribers of one user, only changed inside {@code feeds.compute} for that user.
+     */
+    private static final class Feed {
+
+        private final Long                  userId;
+        private final Deque<Entry>          replay = new ArrayDeque<>();
+        private final List<Subscriber>      subscribers = new ArrayList<>();
+        // events up to this sequence may have been published to the user but are no longer replayable
+        private long                        droppedThrough;
+        private long                        touchedAt = System.nanoTime();
+
+        private Feed(final Long userId, final long droppedThrough) {
+            this.userId = userId;
+            this.droppedThrough = droppedThrough;
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final Feed                      feed;
+        private final SseEmitter                emitter;
+        private final BlockingQueue<Entry>      buffer;
+        private final AtomicBoolean             scheduled = new AtomicBoolean();
+        private final AtomicBoolean             resyncPending = new AtomicBoolean();
+        private final AtomicBoolean             heartbeatPending = new AtomicBoolean();
+        private volatile boolean                closed;
+
+        private Subscriber(final Feed feed, final SseEmitter emitter, final int capacity) {
+            this.feed = feed;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(final Entry entry) {
+            if (!buffer.offer(entry)) {
+                // the client fell behind, what it has not read yet is replaced by one resync
+                buffer.clear();
+                if (!resyncPending.getAndSet(true)) {
+                    resyncs.increment();
+                }
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatPending.set(true);
+            schedule();
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this);
+            } catch (final RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    if (resyncPending.getAndSet(false)) {
+                        heartbeatPending.set(false);
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("Reload the test cases, events were dropped"));
+                    }
+                    final Entry entry = buffer.poll();
+                    if (entry != null) {
+                        heartbeatPending.set(false);
+                        emitter.send(SseEmitter.event()
+                                .id(epoch + "-" + entry.sequence())
+                                .name(entry.data().getType().getEventName())
+                                .data(entry.data()));
+                        continue;
+                    }
+                    if (heartbeatPending.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    scheduled.set(false);
+                    // work offered after the checks above finds scheduled still set and is left to this thread
+                    if (!hasWork() || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+                scheduled.set(false);
+            } catch (final IOException | IllegalStateException e) {
+                // the container reports the broken connection itself, the emitter must not be completed here
+                log.debug("Dropping test case feed subscriber of user {}: {}", feed.userId, e.getMessage());
+                scheduled.set(false);
+                unsubscribe();
+            } catch (final RuntimeException e) {
+                // an event that cannot be written would fail again on every send, the connection is ended instead
+                log.error("Dropping test case feed subscriber of user {}", feed.userId, e);
+                scheduled.set(false);
+                unsubscribe();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private boolean hasWork() {
+            return !buffer.isEmpty() || resyncPending.get() || heartbeatPending.get();
+        }
+
+        private void unsubscribe() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+            feeds.computeIfPresent(feed.userId, (id, current) -> {
+                current.subscribers.remove(this);
+                current.touchedAt = System.nanoTime();
+                return current;
+            });
+        }
+    }
+}
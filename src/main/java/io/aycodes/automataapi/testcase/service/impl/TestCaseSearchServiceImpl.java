@@ -0,0 +1,131 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+
+import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.testcase.search.Bm25Index;
+import io.aycodes.automataapi.testcase.search.SearchHit;
+import io.aycodes.automataapi.testcase.service.TestCaseSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Ranked full-text search over the title and description of each user's test cases, served from one
+ * {@link Bm25Index} per user. The indexes are loaded from the table at startup and then follow the
+ * changes this instance commits; searches only touch the database to load the hits, by primary key. They
+ * are rebuilt periodically and swapped in whole, which picks up changes committed by other instances.
+ * Changes share the read side of the swap lock, so only the swap itself holds them back.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TestCaseSearchServiceImpl implements TestCaseSearchService {
+
+    private final TestCaseRepo                              testCaseRepo;
+    private volatile Map<Long, Bm25Index>                   indexes;
+    private volatile Queue<TestCaseChangeEvent>             changedDuringBuild;
+    private final ReadWriteLock                             swapLock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${test-case.search.rebuild-interval}",
+            initialDelayString = "${test-case.search.rebuild-interval}")
+    @Transactional(readOnly = true)
+    public void build() {
+        // changes committed while the table is being read are replayed into the new indexes
+        final Queue<TestCaseChangeEvent> pending = new ConcurrentLinkedQueue<>();
+        changedDuringBuild = pending;
+        final Map<Long, Bm25Index> built = new ConcurrentHashMap<>();
+        final long[] documents = {0};
+        try (Stream<TestCaseRepo.SearchableText> testCases = testCaseRepo.streamAllSearchableText()) {
+            testCases.forEach(testCase -> {
+                built.computeIfAbsent(testCase.getUserId(), userId -> new Bm25Index())
+                        .put(testCase.getId(), testCase.getTitle(), testCase.getDescription());
+                documents[0]++;
+            });
+        }
+        swapLock.writeLock().lock();
+        try {
+            indexes = built;
+            changedDuringBuild = null;
+            pending.forEach(event -> apply(built, event));
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Test case search index built with {} test cases of {} users", documents[0], built.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestCaseChange(final TestCaseChangeEvent event) {
+        if (event.type() != TestCaseChangeEvent.Type.DELETED && event.title() == null) {
+            // status and priority changes leave the indexed text as it is
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            final Map<Long, Bm25Index> current = indexes;
+            if (current != null) {
+                apply(current, event);
+            }
+            final Queue<TestCaseChangeEvent> pending = changedDuringBuild;
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TestCaseView> searchTestCases(final Long userId, final String query, final int limit) throws CustomException {
+        final Map<Long, Bm25Index> current = indexes;
+        if (current == null) {
+            throw new CustomException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still loading, try again shortly");
+        }
+        final Bm25Index index = current.get(userId);
+        if (index == null) {
+            return List.of();
+        }
+        final List<SearchHit> hits = index.search(query, limit);
+        log.info("Search matched {} user test cases", hits.size());
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, TestCaseView> views = testCaseRepo.findViewsByUserIdAndIdIn(userId,
+                        hits.stream().map(SearchHit::id).toList())
+                .stream().collect(Collectors.toMap(TestCaseView::getId, Function.identity()));
+        // hits deleted by another instance since they were indexed have no view and are dropped
+        return hits.stream().map(hit -> views.get(hit.id())).filter(Objects::nonNull).toList();
+    }
+
+    private static void apply(final Map<Long, Bm25Index> indexes, final TestCaseChangeEvent event) {
+        if (event.type() == TestCaseChangeEvent.Type.DELETED) {
+            final Bm25Index index = indexes.get(event.userId());
+            if (index != null) {
+                index.remove(event.testCaseId());
+            }
+        } else {
+            indexes.computeIfAbsent(event.userId(), userId -> new Bm25Index())
+                    .put(event.testCaseId(), event.title(), event.description());
+        }
+    }
+}
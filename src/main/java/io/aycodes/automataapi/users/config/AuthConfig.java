@@ -5,6 +5,8 @@ import lombok.Data;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 @Data
 public class AuthConfig {
@@ -15,6 +17,20 @@ public class AuthConfig {
     private  String     audience;
     @Value("${security.jwt.secret-key}")
     private  String     secretKey;
+    @Value("${security.jwt.key-id}")
+    private  String     keyId;
+    @Value("${security.jwt.verification-keys:}")
+    private  List<String> verificationKeys;
+    @Value("${security.jwt.clock-skew}")
+    private  Long       clockSkew;
     @Value("${security.jwt.token-validity}")
     private  Long       tokenExpiration;
+    @Value("${security.jwt.refresh-token-validity}")
+    private  Long       refreshTokenExpiration;
+    @Value("${security.jwt.principal-cache.max-size}")
+    private  Long       principalCacheMaxSize;
+    @Value("${security.jwt.principal-cache.max-ttl}")
+    private  Long       principalCacheMaxTtl;
+    @Value("${security.jwt.stateless-principal:false}")
+    private  boolean    statelessPrincipal;
 }
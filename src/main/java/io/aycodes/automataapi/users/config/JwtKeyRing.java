@@ -0,0 +1,69 @@
+package io.aycodes.automataapi.users.config;
+
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the HMAC algorithms and verifiers for every configured signing key, built once at startup.
+ * Tokens are signed with the current key and carry its id in the {@code kid} header; verification
+ * picks the verifier by that header, so retired keys listed in {@code security.jwt.verification-keys}
+ * keep validating outstanding tokens while a new key is rolled out.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private final String                    signingKeyId;
+    private final Algorithm                 signingAlgorithm;
+    private final Map<String, JWTVerifier>  verifiers;
+
+    public JwtKeyRing(final AuthConfig authConfig) {
+        final Map<String, JWTVerifier> keyVerifiers = new HashMap<>();
+        for (final String entry : authConfig.getVerificationKeys()) {
+            final int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalStateException("Verification keys must be configured as kid:secret pairs");
+            }
+            keyVerifiers.put(entry.substring(0, separator).trim(),
+                    buildVerifier(Algorithm.HMAC512(entry.substring(separator + 1).trim()), authConfig));
+        }
+        this.signingKeyId = authConfig.getKeyId();
+        this.signingAlgorithm = Algorithm.HMAC512(authConfig.getSecretKey());
+        keyVerifiers.put(signingKeyId, buildVerifier(signingAlgorithm, authConfig));
+        this.verifiers = Map.copyOf(keyVerifiers);
+        log.info("JWT key ring initialised with {} key(s), signing with '{}'", verifiers.size(), signingKeyId);
+    }
+
+    public String sign(final JWTCreator.Builder token) {
+        return token.withKeyId(signingKeyId).sign(signingAlgorithm);
+    }
+
+    public DecodedJWT verify(final String token) {
+        final DecodedJWT decodedJWT = JWT.decode(token);
+        // tokens issued before key ids were introduced were signed with the current key
+        final String keyId = decodedJWT.getKeyId() == null ? signingKeyId : decodedJWT.getKeyId();
+        final JWTVerifier verifier = verifiers.get(keyId);
+        if (verifier == null) {
+            throw new JWTVerificationException("Unknown signing key");
+        }
+        return verifier.verify(decodedJWT);
+    }
+
+    private static JWTVerifier buildVerifier(final Algorithm algorithm, final AuthConfig authConfig) {
+        return JWT.require(algorithm)
+                .withAudience(authConfig.getAudience())
+                .withIssuer(authConfig.getIssuer())
+                .acceptLeeway(authConfig.getClockSkew())
+                .build();
+    }
+}
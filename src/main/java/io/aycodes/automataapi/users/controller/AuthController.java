@@ -1,13 +1,17 @@
 package io.aycodes.automataapi.users.controller;
 
 
+import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.CustomResponse;
 import io.aycodes.automataapi.common.dtos.auth.AuthResponse;
+import io.aycodes.automataapi.common.dtos.auth.RefreshTokenDto;
 import io.aycodes.automataapi.common.dtos.user.UserLoginDto;
 import io.aycodes.automataapi.users.service.AuthService;
+import io.aycodes.automataapi.users.service.LoginThrottle;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -25,15 +29,27 @@ import java.time.LocalDateTime;
 public class AuthController {
 
     private final AuthService           authService;
+    private final LoginThrottle         loginThrottle;
 
 
     @PostMapping("/login")
     @Operation(summary = "User Login", description = "Login user by username and password")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "202", description = "Login successful"),
-            @ApiResponse(responseCode = "403", description = "Login failed")
+            @ApiResponse(responseCode = "403", description = "Login failed"),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts"),
+            @ApiResponse(responseCode = "503", description = "Login temporarily unavailable")
     })
-    public ResponseEntity<CustomResponse> userLogin(@Valid @RequestBody final UserLoginDto userLoginDto) {
+    public ResponseEntity<CustomResponse> userLogin(@Valid @RequestBody final UserLoginDto userLoginDto,
+                                                    final HttpServletRequest request) {
+        if (!loginThrottle.tryAcquire(userLoginDto.getUsername(), request.getRemoteAddr())) {
+            final String message = "Too many login attempts, try again later";
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.TOO_MANY_REQUESTS.value()).status(HttpStatus.TOO_MANY_REQUESTS)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.TOO_MANY_REQUESTS);
+        }
         try {
             log.info("Attempt user login");
             final String message = "Login successful";
@@ -45,6 +61,16 @@ public class AuthController {
                     .build();
             log.info(message);
             return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+        } catch (final CustomException cs) {
+            final String message = cs.getMessage();
+            log.error(message, cs);
+            final HttpStatus status = cs.getStatus() == HttpStatus.SERVICE_UNAVAILABLE
+                    ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.FORBIDDEN;
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(status.value()).status(status)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, status);
         } catch (final Exception e) {
             final String message = "Login Failed";
             log.error(message, e);
@@ -56,6 +82,65 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh Access Token", description = "Exchange a refresh token for a new access and refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Token refreshed"),
+            @ApiResponse(responseCode = "401", description = "Invalid or revoked refresh token")
+    })
+    public ResponseEntity<CustomResponse> refreshToken(@Valid @RequestBody final RefreshTokenDto refreshTokenDto) {
+        try {
+            log.info("Attempt token refresh");
+            final String message = "Token refreshed";
+            final AuthResponse auth = authService.refreshAccessToken(refreshTokenDto.getRefreshToken());
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.ACCEPTED.value()).status(HttpStatus.ACCEPTED)
+                    .message(message).success(true)
+                    .data(auth)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+        } catch (final Exception e) {
+            final String message = "Token refresh failed";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.UNAUTHORIZED.value()).status(HttpStatus.UNAUTHORIZED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "User Logout", description = "Revoke the bearer access token and, when given, the refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Logout successful"),
+            @ApiResponse(responseCode = "417", description = "Logout failed")
+    })
+    public ResponseEntity<CustomResponse> userLogout(@RequestHeader("Authorization") final String authHeader,
+                                                     @RequestBody(required = false) final RefreshTokenDto refreshTokenDto) {
+        try {
+            log.info("Attempt user logout");
+            final String message = "Logout successful";
+            authService.logout(authHeader.substring(authHeader.indexOf(' ') + 1),
+                    refreshTokenDto == null ? null : refreshTokenDto.getRefreshToken());
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (final Exception e) {
+            final String message = "Logout failed";
+            log.error(message, e);
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
     @GetMapping("/email-availability")
     @Operation(summary = "Check Email Availability", description = "Check Email Availability")
     @ApiResponses(value = {
@@ -1,25 +1,32 @@
 package io.aycodes.automataapi.users.controller;
 
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aycodes.automataapi.common.config.SecurityConfig;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
 import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.CustomResponse;
 import io.aycodes.automataapi.common.dtos.user.UserSignupDto;
 import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.service.UserProvisioningService;
 import io.aycodes.automataapi.users.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -29,13 +36,16 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService           userService;
+    private final UserProvisioningService userProvisioningService;
+    private final ObjectMapper          objectMapper;
 
 
     @PostMapping("/new-user")
     @Operation(summary = "Create User", description = "Create new user account")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User created successfully"),
-            @ApiResponse(responseCode = "417", description = "Unable to create user")
+            @ApiResponse(responseCode = "417", description = "Unable to create user"),
+            @ApiResponse(responseCode = "503", description = "User creation temporarily unavailable")
     })
     public ResponseEntity<CustomResponse> createUser(@Valid @RequestBody final UserSignupDto userSignupDto) {
         try {
@@ -52,13 +62,49 @@ public class UserController {
         } catch (final CustomException cs) {
             final String message = cs.getMessage();
             log.error(message, cs);
+            final HttpStatus status = cs.getStatus() == HttpStatus.SERVICE_UNAVAILABLE
+                    ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.EXPECTATION_FAILED;
+            CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(status.value()).status(status)
+                    .message(message).success(false)
+                    .build();
+            return new ResponseEntity<>(response, status);
+        } catch (final Exception e) {
+            final String message = "Unable to create user";
+            log.error(message, e);
             CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
                     .message(message).success(false)
                     .build();
             return new ResponseEntity<>(response, HttpStatus.EXPECTATION_FAILED);
+        }
+    }
+
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create Users In Bulk",
+            description = "Create user accounts from a JSON array of signup requests, read as a stream",
+            security = { @SecurityRequirement(name = "Bearer Token") })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see the result of each row"),
+            @ApiResponse(responseCode = "417", description = "Unable to process request")
+    })
+    public ResponseEntity<CustomResponse> createUsers(final HttpServletRequest request) {
+        try (MappingIterator<UserSignupDto> rows = objectMapper.readerFor(UserSignupDto.class)
+                .readValues(request.getInputStream())) {
+            log.info("Attempt bulk user creation");
+            final List<BulkRowResult> results = userProvisioningService.createUsers(rows);
+            final long created = results.stream().filter(BulkRowResult::isSuccess).count();
+            final String message = "Created " + created + " of " + results.size() + " users";
+            final CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
+                    .statusCode(HttpStatus.OK.value()).status(HttpStatus.OK)
+                    .message(message).success(true)
+                    .data(results)
+                    .build();
+            log.info(message);
+            return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (final Exception e) {
-            final String message = "Unable to create user";
+            final String message = "Unable to create users";
             log.error(message, e);
             CustomResponse response = CustomResponse.builder().timeStamp(LocalDateTime.now())
                     .statusCode(HttpStatus.EXPECTATION_FAILED.value()).status(HttpStatus.EXPECTATION_FAILED)
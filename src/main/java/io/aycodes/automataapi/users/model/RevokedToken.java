@@ -0,0 +1,44 @@
+package io.aycodes.automataapi.users.model;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked token id. Rows are only ever inserted, so saving one always inserts and revoking the same
+ * token twice fails on the primary key.
+ */
+@Entity
+@Table(name = "revoked_token")
+@Builder
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Data
+public class RevokedToken implements Persistable<String> {
+
+    @Id
+    @Column(name = "token_id", nullable = false, length = 64)
+    private String          tokenId;
+
+    @Column(name = "expires_on", nullable = false)
+    private LocalDateTime   expiresOn;
+
+    @Override
+    public String getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
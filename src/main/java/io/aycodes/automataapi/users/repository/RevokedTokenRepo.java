@@ -0,0 +1,22 @@
+package io.aycodes.automataapi.users.repository;
+
+
+import io.aycodes.automataapi.users.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.tokenId from RevokedToken r where r.expiresOn > :now")
+    List<String> findActiveTokenIds(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresOn <= :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,63 @@
+package io.aycodes.automataapi.users.repository;
+
+
+import io.aycodes.automataapi.common.utility.QueryCacheInvalidation;
+import io.aycodes.automataapi.users.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts users as a single JDBC batch. Hibernate cannot batch inserts of {@code IDENTITY} entities,
+ * so bulk provisioning writes the rows directly and reads the generated ids back from the batch.
+ * Must run inside a transaction so the statements share the connection of the surrounding unit of work,
+ * which also keeps cached user queries from being served until it completes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepo {
+
+    private final JdbcTemplate      jdbcTemplate;
+    @PersistenceContext
+    private EntityManager           entityManager;
+    private volatile String         insertSql;
+
+    public List<Long> insertAll(final List<User> users) {
+        QueryCacheInvalidation.tablesWritten(entityManager, User.class);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            if (insertSql == null) {
+                // user is a reserved word, quote it the way the connected database expects
+                final String quote = connection.getMetaData().getIdentifierQuoteString().trim();
+                insertSql = "insert into " + quote + "user" + quote
+                        + " (username, email, password, created_on) values (?, ?, ?, ?)";
+            }
+            try (PreparedStatement statement = connection.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                for (final User user : users) {
+                    statement.setString(1, user.getUsername());
+                    statement.setString(2, user.getEmail());
+                    statement.setString(3, user.getPassword());
+                    statement.setTimestamp(4, Timestamp.valueOf(user.getCreatedOn()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                final List<Long> ids = new ArrayList<>(users.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+}
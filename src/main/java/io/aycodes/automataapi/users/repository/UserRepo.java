@@ -2,14 +2,40 @@ package io.aycodes.automataapi.users.repository;
 
 
 import io.aycodes.automataapi.users.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
+
     Optional<User> findByEmail(String email);
+    boolean existsByUsername(String username);
+    boolean existsByEmail(String email);
+
+    @Query("select u.username as username, u.email as email from User u " +
+            "where u.username in :usernames or u.email in :emails")
+    List<UserIdentity> findIdentities(Collection<String> usernames, Collection<String> emails);
+
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
+
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    interface UserIdentity {
+        String getUsername();
+        String getEmail();
+    }
 }
@@ -1,11 +1,14 @@
 package io.aycodes.automataapi.users.service;
 
+import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.auth.AuthResponse;
 import io.aycodes.automataapi.common.dtos.user.UserLoginDto;
 
 public interface AuthService {
 
-    AuthResponse authenticateUser(final UserLoginDto userLoginDto);
+    AuthResponse authenticateUser(final UserLoginDto userLoginDto) throws CustomException;
+    AuthResponse refreshAccessToken(final String refreshToken) throws CustomException;
+    void logout(final String accessToken, final String refreshToken) throws CustomException;
     boolean isEmailAvailable(final String email);
     boolean isUsernameAvailable(final String username);
 }
@@ -9,4 +9,6 @@ public interface JwtService {
 
     AuthResponse issueToken(final User user);
     AuthenticationTokenDetails parseToken(final String token) throws CustomException;
+    AuthenticationTokenDetails parseRefreshToken(final String token) throws CustomException;
+    boolean revokeToken(final AuthenticationTokenDetails tokenDetails);
 }
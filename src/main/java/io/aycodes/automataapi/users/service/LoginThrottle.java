@@ -0,0 +1,6 @@
+package io.aycodes.automataapi.users.service;
+
+public interface LoginThrottle {
+
+    boolean tryAcquire(final String username, final String remoteAddress);
+}
@@ -0,0 +1,11 @@
+package io.aycodes.automataapi.users.service;
+
+import io.aycodes.automataapi.common.dtos.auth.AuthenticatedUser;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticationTokenDetails;
+
+public interface PrincipalCache {
+
+    AuthenticatedUser getPrincipal(final AuthenticationTokenDetails tokenDetails);
+    void invalidate(final String username);
+    void invalidateAll();
+}
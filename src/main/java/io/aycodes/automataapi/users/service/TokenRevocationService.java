@@ -0,0 +1,9 @@
+package io.aycodes.automataapi.users.service;
+
+import java.time.ZonedDateTime;
+
+public interface TokenRevocationService {
+
+    boolean isRevoked(final String tokenId);
+    boolean revoke(final String tokenId, final ZonedDateTime expirationDate);
+}
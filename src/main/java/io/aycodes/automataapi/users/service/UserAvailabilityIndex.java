@@ -0,0 +1,8 @@
+package io.aycodes.automataapi.users.service;
+
+public interface UserAvailabilityIndex {
+
+    boolean isUsernameTaken(final String username);
+    boolean isEmailTaken(final String email);
+    void register(final String username, final String email);
+}
@@ -0,0 +1,13 @@
+package io.aycodes.automataapi.users.service;
+
+
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
+import io.aycodes.automataapi.common.dtos.user.UserSignupDto;
+
+import java.util.Iterator;
+import java.util.List;
+
+public interface UserProvisioningService {
+
+    List<BulkRowResult> createUsers(final Iterator<UserSignupDto> userSignupDtos);
+}
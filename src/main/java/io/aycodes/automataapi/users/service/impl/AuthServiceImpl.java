@@ -1,15 +1,21 @@
 package io.aycodes.automataapi.users.service.impl;
 
+import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.PasswordHashingRejectedException;
 import io.aycodes.automataapi.common.dtos.auth.AuthResponse;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticationTokenDetails;
 import io.aycodes.automataapi.common.dtos.user.UserLoginDto;
 import io.aycodes.automataapi.users.model.User;
 import io.aycodes.automataapi.users.repository.UserRepo;
 import io.aycodes.automataapi.users.service.AuthService;
 import io.aycodes.automataapi.users.service.JwtService;
+import io.aycodes.automataapi.users.service.UserAvailabilityIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,29 +29,60 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepo                          userRepo;
     private final JwtService                        jwtService;
     private final AuthenticationManager             authenticationManager;
+    private final UserAvailabilityIndex             userAvailabilityIndex;
 
     @Override
-    public AuthResponse authenticateUser(final UserLoginDto userLoginDto) {
+    public AuthResponse authenticateUser(final UserLoginDto userLoginDto) throws CustomException {
         log.info("Attempting to authenticate user");
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        userLoginDto.getUsername(),
-                        userLoginDto.getPassword()
-                )
-        );
-        User user = userRepo.findByUsername(userLoginDto.getUsername())
-                .orElseThrow();
+        final Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            userLoginDto.getUsername(),
+                            userLoginDto.getPassword()
+                    )
+            );
+        } catch (final PasswordHashingRejectedException e) {
+            log.error(e.getMessage());
+            throw new CustomException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+        // the provider already loaded the account, no need to query it again
+        User user = (User) authentication.getPrincipal();
         log.info("Attempting to issue JWT access token to user");
         return jwtService.issueToken(user);
     }
 
+    @Override
+    public AuthResponse refreshAccessToken(final String refreshToken) throws CustomException {
+        log.info("Attempting to refresh access token");
+        final AuthenticationTokenDetails tokenDetails = jwtService.parseRefreshToken(refreshToken);
+        User user = userRepo.findByUsername(tokenDetails.getSubject())
+                .orElseThrow(() -> new CustomException(HttpStatus.UNAUTHORIZED, "Invalid token"));
+        // refresh tokens are single use, of two concurrent refreshes only the one whose revocation is
+        // inserted first gets new tokens
+        if (!jwtService.revokeToken(tokenDetails)) {
+            throw new CustomException(HttpStatus.UNAUTHORIZED, "Token has been revoked");
+        }
+        log.info("Attempting to issue JWT access token to user");
+        return jwtService.issueToken(user);
+    }
+
+    @Override
+    public void logout(final String accessToken, final String refreshToken) throws CustomException {
+        log.info("Attempting to revoke tokens");
+        jwtService.revokeToken(jwtService.parseToken(accessToken));
+        if (refreshToken != null) {
+            jwtService.revokeToken(jwtService.parseRefreshToken(refreshToken));
+        }
+    }
+
     @Override
     public boolean isEmailAvailable(String email) {
-        return userRepo.findByEmail(email).isPresent();
+        return !userAvailabilityIndex.isEmailTaken(email);
     }
 
     @Override
     public boolean isUsernameAvailable(String username) {
-        return userRepo.findByUsername(username).isPresent();
+        return !userAvailabilityIndex.isUsernameTaken(username);
     }
 }
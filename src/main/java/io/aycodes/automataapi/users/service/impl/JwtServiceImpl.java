@@ -1,21 +1,20 @@
 package io.aycodes.automataapi.users.service.impl;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.auth.AuthResponse;
 import io.aycodes.automataapi.common.dtos.auth.AuthenticationTokenDetails;
 import io.aycodes.automataapi.common.utility.TimeUtil;
 import io.aycodes.automataapi.users.config.AuthConfig;
+import io.aycodes.automataapi.users.config.JwtKeyRing;
 import io.aycodes.automataapi.users.model.User;
 import io.aycodes.automataapi.users.service.JwtService;
+import io.aycodes.automataapi.users.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.Date;
@@ -25,41 +24,78 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class JwtServiceImpl implements JwtService {
 
+    private static final String             USER_ID_CLAIM = "uid";
+    private static final String             EMAIL_CLAIM = "email";
+    private static final String             TOKEN_TYPE_CLAIM = "token_type";
+    private static final String             ACCESS_TOKEN_TYPE = "access";
+    private static final String             REFRESH_TOKEN_TYPE = "refresh";
+
     private final AuthConfig                authConfig;
+    private final JwtKeyRing                jwtKeyRing;
+    private final TokenRevocationService    tokenRevocationService;
 
 
     @Override
     public AuthResponse issueToken(final User user) {
         final ZonedDateTime issuedDate = TimeUtil.getZonedDateTimeOfInstant();
-        final ZonedDateTime expiryDate = calculateTokenExpirationDate(issuedDate);
         log.info("Generating jwt token");
-        String token = JWT.create()
+        String token = jwtKeyRing.sign(JWT.create()
+                .withJWTId(generateTokenIdentifier())
+                .withIssuer(authConfig.getIssuer())
+                .withAudience(authConfig.getAudience())
+                .withSubject(String.valueOf(user.getUsername()))
+                .withClaim(USER_ID_CLAIM, user.getId())
+                .withClaim(EMAIL_CLAIM, user.getEmail())
+                .withClaim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE)
+                .withIssuedAt(Date.from(issuedDate.toInstant()))
+                .withExpiresAt(Date.from(issuedDate.plusSeconds(authConfig.getTokenExpiration()).toInstant())));
+        String refreshToken = jwtKeyRing.sign(JWT.create()
                 .withJWTId(generateTokenIdentifier())
                 .withIssuer(authConfig.getIssuer())
                 .withAudience(authConfig.getAudience())
                 .withSubject(String.valueOf(user.getUsername()))
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
                 .withIssuedAt(Date.from(issuedDate.toInstant()))
-                .withExpiresAt(Date.from(expiryDate.toInstant()))
-                .sign(getAlgorithmForToken());
+                .withExpiresAt(Date.from(issuedDate.plusSeconds(authConfig.getRefreshTokenExpiration()).toInstant())));
         return AuthResponse.builder()
-                .accessToken(token).build();
+                .accessToken(token)
+                .refreshToken(refreshToken)
+                .expiresIn(authConfig.getTokenExpiration()).build();
     }
 
     @Override
     public AuthenticationTokenDetails parseToken(String token) throws CustomException {
+        // tokens issued before refresh tokens existed carry no type and are access tokens
+        return parseToken(token, ACCESS_TOKEN_TYPE, true);
+    }
+
+    @Override
+    public AuthenticationTokenDetails parseRefreshToken(String token) throws CustomException {
+        return parseToken(token, REFRESH_TOKEN_TYPE, false);
+    }
+
+    @Override
+    public boolean revokeToken(final AuthenticationTokenDetails tokenDetails) {
+        return tokenRevocationService.revoke(tokenDetails.getTokenId(), tokenDetails.getExpirationDate());
+    }
+
+    private AuthenticationTokenDetails parseToken(final String token, final String expectedType,
+                                                  final boolean untypedAllowed) throws CustomException {
+        final AuthenticationTokenDetails tokenDetails;
         try {
-            Algorithm algorithm       = getAlgorithmForToken();
-            JWTVerifier verifier      = JWT.require(algorithm)
-                    .withAudience(authConfig.getAudience())
-                    .withIssuer(authConfig.getIssuer()).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
+            DecodedJWT decodedJWT = jwtKeyRing.verify(token);
+            String tokenType = decodedJWT.getClaim(TOKEN_TYPE_CLAIM).asString();
+            if (tokenType == null ? !untypedAllowed : !tokenType.equals(expectedType)) {
+                throw new IllegalArgumentException("Unexpected token type " + tokenType);
+            }
 
-            return AuthenticationTokenDetails.builder()
+            tokenDetails = AuthenticationTokenDetails.builder()
                     .tokenId(decodedJWT.getId())
                     .subject(decodedJWT.getSubject())
+                    .userId(decodedJWT.getClaim(USER_ID_CLAIM).asLong())
+                    .email(decodedJWT.getClaim(EMAIL_CLAIM).asString())
                     .issuedDate(ZonedDateTime.ofInstant(decodedJWT.getIssuedAtAsInstant(), TimeUtil.getZONE_ID()))
                     .expirationDate(ZonedDateTime.ofInstant(decodedJWT.getExpiresAtAsInstant(), TimeUtil.getZONE_ID()))
                     .build();
@@ -68,17 +104,13 @@ public class JwtServiceImpl implements JwtService {
             log.error(message,e);
             throw new CustomException(HttpStatus.UNAUTHORIZED, message, e);
         }
-    }
-
-    private Algorithm getAlgorithmForToken() {
-        return Algorithm.HMAC512(authConfig.getSecretKey());
+        if (tokenRevocationService.isRevoked(tokenDetails.getTokenId())) {
+            throw new CustomException(HttpStatus.UNAUTHORIZED, "Token has been revoked");
+        }
+        return tokenDetails;
     }
 
     private String generateTokenIdentifier() {
         return UUID.randomUUID().toString();
     }
-
-    private ZonedDateTime calculateTokenExpirationDate(final ZonedDateTime issuedDate) {
-        return issuedDate.plusSeconds(authConfig.getTokenExpiration());
-    }
 }
@@ -0,0 +1,82 @@
+package io.aycodes.automataapi.users.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.aycodes.automataapi.common.utility.TokenBucket;
+import io.aycodes.automataapi.users.service.LoginThrottle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+
+/**
+ * Token-bucket throttle in front of the login endpoint, applied per username and per remote address before any
+ * user lookup or password verification. Buckets live in size-bounded caches and are evicted once idle, so the
+ * throttle state stays bounded even under username spraying. The remote address is taken from the servlet request;
+ * when running behind a proxy, configure {@code server.forward-headers-strategy} rather than trusting headers here.
+ */
+@Service
+@Slf4j
+public class LoginThrottleImpl implements LoginThrottle {
+
+    private final Cache<String, TokenBucket>        usernameBuckets;
+    private final Cache<String, TokenBucket>        addressBuckets;
+    private final Function<String, TokenBucket>     usernameBucketFactory;
+    private final Function<String, TokenBucket>     addressBucketFactory;
+    private final int                               usernameCapacity;
+    private final long                              usernameMillisPerToken;
+    private final int                               addressCapacity;
+    private final long                              addressMillisPerToken;
+    private final Counter                           usernameRejections;
+    private final Counter                           addressRejections;
+
+    public LoginThrottleImpl(@Value("${security.login-throttle.username.capacity}") final int usernameCapacity,
+                             @Value("${security.login-throttle.username.refill-per-minute}") final int usernameRefillPerMinute,
+                             @Value("${security.login-throttle.address.capacity}") final int addressCapacity,
+                             @Value("${security.login-throttle.address.refill-per-minute}") final int addressRefillPerMinute,
+                             @Value("${security.login-throttle.max-keys}") final long maxKeys,
+                             @Value("${security.login-throttle.idle-timeout}") final Duration idleTimeout,
+                             final MeterRegistry meterRegistry) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameMillisPerToken = Duration.ofMinutes(1).toMillis() / usernameRefillPerMinute;
+        this.addressCapacity = addressCapacity;
+        this.addressMillisPerToken = Duration.ofMinutes(1).toMillis() / addressRefillPerMinute;
+        this.usernameBuckets = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleTimeout).build();
+        this.addressBuckets = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleTimeout).build();
+        this.usernameBucketFactory = key -> new TokenBucket(usernameCapacity, System.currentTimeMillis());
+        this.addressBucketFactory = key -> new TokenBucket(addressCapacity, System.currentTimeMillis());
+        this.usernameRejections = rejectionCounter("username", meterRegistry);
+        this.addressRejections = rejectionCounter("address", meterRegistry);
+    }
+
+    @Override
+    public boolean tryAcquire(final String username, final String remoteAddress) {
+        final long now = System.currentTimeMillis();
+        if (remoteAddress != null
+                && !addressBuckets.get(remoteAddress, addressBucketFactory)
+                        .tryConsume(now, addressCapacity, addressMillisPerToken)) {
+            addressRejections.increment();
+            return false;
+        }
+        if (username != null
+                && !usernameBuckets.get(username.toLowerCase(Locale.ROOT), usernameBucketFactory)
+                        .tryConsume(now, usernameCapacity, usernameMillisPerToken)) {
+            usernameRejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static Counter rejectionCounter(final String dimension, final MeterRegistry meterRegistry) {
+        return Counter.builder("login.throttle.rejected")
+                .tag("dimension", dimension)
+                .description("Login attempts rejected before authentication")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package io.aycodes.automataapi.users.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticatedUser;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticationTokenDetails;
+import io.aycodes.automataapi.users.config.AuthConfig;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.service.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+
+/**
+ * Keeps authenticated principals in memory so that a secured request only reaches the user table
+ * on a cache miss. Entries are keyed by username, bounded in size and expire with the token that
+ * loaded them (capped by {@code security.jwt.principal-cache.max-ttl}).
+ */
+@Service
+@Slf4j
+public class PrincipalCacheImpl implements PrincipalCache {
+
+    private final UserDetailsService                    userDetailsService;
+    private final Cache<String, CachedPrincipal>        cache;
+    private final long                                  maxTtlNanos;
+
+    public PrincipalCacheImpl(final UserDetailsService userDetailsService,
+                              final AuthConfig authConfig,
+                              final MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.maxTtlNanos = Duration.ofSeconds(authConfig.getPrincipalCacheMaxTtl()).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(authConfig.getPrincipalCacheMaxSize())
+                .expireAfter(new TokenBoundExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal-cache");
+    }
+
+    @Override
+    public AuthenticatedUser getPrincipal(final AuthenticationTokenDetails tokenDetails) {
+        return cache.get(tokenDetails.getSubject(), username -> {
+            log.info("Principal cache miss, loading user details");
+            return new CachedPrincipal(
+                    AuthenticatedUser.from((User) userDetailsService.loadUserByUsername(username)),
+                    tokenDetails.getExpirationDate().toInstant());
+        }).principal();
+    }
+
+    @Override
+    public void invalidate(final String username) {
+        cache.invalidate(username);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record CachedPrincipal(AuthenticatedUser principal, Instant tokenExpiry) {
+    }
+
+    private class TokenBoundExpiry implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(final String key, final CachedPrincipal value, final long currentTime) {
+            final long untilTokenExpiry = Duration.between(Instant.now(), value.tokenExpiry()).toNanos();
+            return Math.max(0, Math.min(untilTokenExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CachedPrincipal value,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CachedPrincipal value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.aycodes.automataapi.users.service.impl;
+
+
+import io.aycodes.automataapi.common.utility.BloomFilter;
+import io.aycodes.automataapi.common.utility.TimeUtil;
+import io.aycodes.automataapi.users.model.RevokedToken;
+import io.aycodes.automataapi.users.repository.RevokedTokenRepo;
+import io.aycodes.automataapi.users.service.TokenRevocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Revoked token ids are persisted in {@code revoked_token} and mirrored in an in-memory Bloom filter.
+ * A token that is not in the filter is known not to be revoked, so the common case costs no query;
+ * only filter hits are confirmed against the table. The filter is rebuilt periodically, which drops
+ * expired entries and picks up revocations made by other instances. Until the first build completes
+ * every check goes to the table. Each revocation is inserted and committed on its own, a token that was
+ * already revoked failing on the primary key, so the table and not the filter decides which of two
+ * concurrent uses of a refresh token wins.
+ */
+@Service
+@Transactional
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RevokedTokenRepo      revokedTokenRepo;
+    private final TransactionTemplate   revocationTransaction;
+    private final long                  expectedInsertions;
+    private final double                falsePositiveProbability;
+    private volatile BloomFilter        revokedTokenIds;
+    private volatile Set<String>        revokedDuringRebuild;
+    private final Object                swapLock = new Object();
+
+    public TokenRevocationServiceImpl(final RevokedTokenRepo revokedTokenRepo,
+                                      final PlatformTransactionManager transactionManager,
+                                      @Value("${security.jwt.revocation.expected-insertions}") final long expectedInsertions,
+                                      @Value("${security.jwt.revocation.false-positive-probability}") final double falsePositiveProbability) {
+        this.revokedTokenRepo = revokedTokenRepo;
+        this.revocationTransaction = new TransactionTemplate(transactionManager);
+        this.revocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval}",
+            initialDelayString = "${security.jwt.revocation.refresh-interval}")
+    public void rebuild() {
+        // revocations committed while the table is being read are replayed into the new filter
+        final Set<String> pending = ConcurrentHashMap.newKeySet();
+        revokedDuringRebuild = pending;
+        final LocalDateTime now = LocalDateTime.now(TimeUtil.getZONE_ID());
+        final int purged = revokedTokenRepo.deleteExpired(now);
+        final List<String> activeTokenIds = revokedTokenRepo.findActiveTokenIds(now);
+        final BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, 2L * activeTokenIds.size()),
+                falsePositiveProbability);
+        activeTokenIds.forEach(filter::put);
+        synchronized (swapLock) {
+            revokedTokenIds = filter;
+            revokedDuringRebuild = null;
+            pending.forEach(filter::put);
+        }
+        log.info("Token revocation filter rebuilt with {} active entries, {} expired entries purged",
+                activeTokenIds.size(), purged);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isRevoked(final String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        final BloomFilter filter = revokedTokenIds;
+        return (filter == null || filter.mightContain(tokenId)) && revokedTokenRepo.existsById(tokenId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean revoke(final String tokenId, final ZonedDateTime expirationDate) {
+        log.info("Revoking token");
+        try {
+            revocationTransaction.executeWithoutResult(status -> revokedTokenRepo.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .expiresOn(expirationDate.withZoneSameInstant(TimeUtil.getZONE_ID()).toLocalDateTime())
+                    .build()));
+        } catch (final DataIntegrityViolationException e) {
+            log.warn("Token was already revoked");
+            return false;
+        }
+        remember(tokenId);
+        return true;
+    }
+
+    private void remember(final String tokenId) {
+        synchronized (swapLock) {
+            if (revokedTokenIds != null) {
+                revokedTokenIds.put(tokenId);
+            }
+            if (revokedDuringRebuild != null) {
+                revokedDuringRebuild.add(tokenId);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.aycodes.automataapi.users.service.impl;
+
+
+import io.aycodes.automataapi.common.utility.BloomFilter;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import io.aycodes.automataapi.users.service.UserAvailabilityIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+
+/**
+ * Lowercased usernames and emails of every account, held in two Bloom filters. A value missing from its
+ * filter is known to be free, so most availability checks never reach the database; filter hits are
+ * confirmed with an exists query. Lowercasing only adds false positives, never false negatives, whatever
+ * the column collation. The filters are rebuilt periodically to pick up accounts created by other
+ * instances and to resize as the table grows. Until the first build every check goes to the table.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class UserAvailabilityIndexImpl implements UserAvailabilityIndex {
+
+    private final UserRepo              userRepo;
+    private final long                  expectedInsertions;
+    private final double                falsePositiveProbability;
+    private volatile Filters            filters;
+    private volatile Set<String[]>      registeredDuringRebuild;
+    private final Object                swapLock = new Object();
+
+    public UserAvailabilityIndexImpl(final UserRepo userRepo,
+                                     @Value("${security.availability-index.expected-insertions}") final long expectedInsertions,
+                                     @Value("${security.availability-index.false-positive-probability}") final double falsePositiveProbability) {
+        this.userRepo = userRepo;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.availability-index.refresh-interval}",
+            initialDelayString = "${security.availability-index.refresh-interval}")
+    public void rebuild() {
+        // accounts registered while the table is being read are replayed into the new filters
+        final Set<String[]> pending = ConcurrentHashMap.newKeySet();
+        registeredDuringRebuild = pending;
+        final long capacity = Math.max(expectedInsertions, 2 * userRepo.count());
+        final Filters rebuilt = new Filters(new BloomFilter(capacity, falsePositiveProbability),
+                new BloomFilter(capacity, falsePositiveProbability));
+        try (Stream<String> usernames = userRepo.streamAllUsernames()) {
+            usernames.forEach(username -> rebuilt.usernames().put(normalize(username)));
+        }
+        try (Stream<String> emails = userRepo.streamAllEmails()) {
+            emails.forEach(email -> rebuilt.emails().put(normalize(email)));
+        }
+        synchronized (swapLock) {
+            filters = rebuilt;
+            registeredDuringRebuild = null;
+            pending.forEach(account -> rebuilt.put(account[0], account[1]));
+        }
+        log.info("User availability index rebuilt with capacity {}", capacity);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isUsernameTaken(final String username) {
+        final Filters current = filters;
+        return (current == null || current.usernames().mightContain(normalize(username)))
+                && userRepo.existsByUsername(username);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isEmailTaken(final String email) {
+        final Filters current = filters;
+        return (current == null || current.emails().mightContain(normalize(email)))
+                && userRepo.existsByEmail(email);
+    }
+
+    /**
+     * Called before the creating transaction commits. A rollback leaves a false positive behind,
+     * which only costs an exists query until the next rebuild.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void register(final String username, final String email) {
+        final String normalizedUsername = normalize(username);
+        final String normalizedEmail = normalize(email);
+        synchronized (swapLock) {
+            if (filters != null) {
+                filters.put(normalizedUsername, normalizedEmail);
+            }
+            if (registeredDuringRebuild != null) {
+                registeredDuringRebuild.add(new String[]{normalizedUsername, normalizedEmail});
+            }
+        }
+    }
+
+    private static String normalize(final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void put(final String username, final String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
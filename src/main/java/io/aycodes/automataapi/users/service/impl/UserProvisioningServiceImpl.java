@@ -0,0 +1,205 @@
+package io.aycodes.automataapi.users.service.impl;
+
+
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.aycodes.automataapi.common.config.BoundedPasswordEncoder;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
+import io.aycodes.automataapi.common.dtos.PasswordHashingRejectedException;
+import io.aycodes.automataapi.common.dtos.user.UserSignupDto;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.repository.UserBatchRepo;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import io.aycodes.automataapi.users.service.UserAvailabilityIndex;
+import io.aycodes.automataapi.users.service.UserProvisioningService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+
+/**
+ * Provisions users from a streamed request in chunks. Each chunk is validated, checked for existing
+ * usernames and emails with one query, hashed in parallel on the password hashing pool and inserted as
+ * one JDBC batch in its own transaction, so a large request never holds a long transaction or keeps more
+ * than a chunk in memory besides the per-row results.
+ */
+@Service
+@Slf4j
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    private final UserRepo                  userRepo;
+    private final UserBatchRepo             userBatchRepo;
+    private final BoundedPasswordEncoder    passwordEncoder;
+    private final UserAvailabilityIndex     userAvailabilityIndex;
+    private final Validator                 validator;
+    private final TransactionTemplate       transactionTemplate;
+    private final int                       chunkSize;
+    private final int                       maxRows;
+
+    public UserProvisioningServiceImpl(final UserRepo userRepo,
+                                       final UserBatchRepo userBatchRepo,
+                                       final BoundedPasswordEncoder passwordEncoder,
+                                       final UserAvailabilityIndex userAvailabilityIndex,
+                                       final Validator validator,
+                                       final TransactionTemplate transactionTemplate,
+                                       @Value("${bulk.chunk-size}") final int chunkSize,
+                                       @Value("${bulk.max-rows}") final int maxRows) {
+        this.userRepo = userRepo;
+        this.userBatchRepo = userBatchRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.userAvailabilityIndex = userAvailabilityIndex;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public List<BulkRowResult> createUsers(final Iterator<UserSignupDto> userSignupDtos) {
+        log.info("Provisioning users in chunks of {}", chunkSize);
+        final List<BulkRowResult> results = new ArrayList<>();
+        final Set<String> seenUsernames = new HashSet<>();
+        final Set<String> seenEmails = new HashSet<>();
+        final List<PendingUser> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+        while (true) {
+            final UserSignupDto userSignupDto;
+            try {
+                if (!userSignupDtos.hasNext()) {
+                    break;
+                }
+                userSignupDto = userSignupDtos.next();
+            } catch (final RuntimeJsonMappingException e) {
+                results.add(BulkRowResult.failed(row++, null, "Malformed row"));
+                continue;
+            } catch (final RuntimeException e) {
+                log.error("Unreadable bulk request body", e);
+                results.add(BulkRowResult.failed(row, null, "Malformed request body, remaining rows were not processed"));
+                break;
+            }
+            if (row == maxRows) {
+                results.add(BulkRowResult.failed(row, null, "Row limit of " + maxRows + " reached, remaining rows were not processed"));
+                break;
+            }
+            final String rejection = validate(userSignupDto, seenUsernames, seenEmails);
+            if (rejection != null) {
+                results.add(BulkRowResult.failed(row++, userSignupDto.getUsername(), rejection));
+                continue;
+            }
+            chunk.add(new PendingUser(row++, userSignupDto));
+            if (chunk.size() == chunkSize) {
+                provision(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            provision(chunk, results);
+        }
+        results.sort(Comparator.comparingInt(BulkRowResult::getRow));
+        return results;
+    }
+
+    private String validate(final UserSignupDto userSignupDto, final Set<String> seenUsernames, final Set<String> seenEmails) {
+        final Set<ConstraintViolation<UserSignupDto>> violations = validator.validate(userSignupDto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (!seenUsernames.add(normalize(userSignupDto.getUsername()))) {
+            return "Username appears more than once in the request";
+        }
+        if (!seenEmails.add(normalize(userSignupDto.getEmail()))) {
+            return "Email appears more than once in the request";
+        }
+        return null;
+    }
+
+    private void provision(final List<PendingUser> chunk, final List<BulkRowResult> results) {
+        final List<PendingUser> accepted = rejectExisting(chunk, results);
+        if (accepted.isEmpty()) {
+            return;
+        }
+        final List<String> hashes;
+        try {
+            hashes = passwordEncoder.encodeAll(accepted.stream().map(p -> p.userSignupDto().getPassword()).toList());
+        } catch (final PasswordHashingRejectedException e) {
+            log.error(e.getMessage());
+            accepted.forEach(p -> results.add(BulkRowResult.failed(p.row(), p.userSignupDto().getUsername(), e.getMessage())));
+            return;
+        }
+        // same clock as @CreationTimestamp on the single signup path
+        final LocalDateTime createdOn = LocalDateTime.now();
+        final List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            final UserSignupDto userSignupDto = accepted.get(i).userSignupDto();
+            users.add(User.builder()
+                    .username(userSignupDto.getUsername())
+                    .email(userSignupDto.getEmail())
+                    .password(hashes.get(i))
+                    .createdOn(createdOn)
+                    .build());
+        }
+        try {
+            final List<Long> ids = transactionTemplate.execute(status -> userBatchRepo.insertAll(users));
+            for (int i = 0; i < accepted.size(); i++) {
+                created(accepted.get(i), ids.get(i), results);
+            }
+        } catch (final DataIntegrityViolationException e) {
+            // a concurrent signup took one of the names after the check, find it row by row
+            log.warn("Batch insert conflicted, retrying chunk row by row");
+            for (int i = 0; i < accepted.size(); i++) {
+                final User user = users.get(i);
+                try {
+                    final List<Long> ids = transactionTemplate.execute(status -> userBatchRepo.insertAll(List.of(user)));
+                    created(accepted.get(i), ids.get(0), results);
+                } catch (final DataIntegrityViolationException rowConflict) {
+                    results.add(BulkRowResult.failed(accepted.get(i).row(), user.getUsername(),
+                            "Username or email is already in use"));
+                }
+            }
+        }
+    }
+
+    private List<PendingUser> rejectExisting(final List<PendingUser> chunk, final List<BulkRowResult> results) {
+        final Set<String> takenUsernames = new HashSet<>();
+        final Set<String> takenEmails = new HashSet<>();
+        userRepo.findIdentities(
+                chunk.stream().map(p -> p.userSignupDto().getUsername()).toList(),
+                chunk.stream().map(p -> p.userSignupDto().getEmail()).toList()
+        ).forEach(identity -> {
+            takenUsernames.add(normalize(identity.getUsername()));
+            takenEmails.add(normalize(identity.getEmail()));
+        });
+        final List<PendingUser> accepted = new ArrayList<>(chunk.size());
+        for (final PendingUser pendingUser : chunk) {
+            final UserSignupDto userSignupDto = pendingUser.userSignupDto();
+            if (takenUsernames.contains(normalize(userSignupDto.getUsername()))) {
+                results.add(BulkRowResult.failed(pendingUser.row(), userSignupDto.getUsername(), "Username is already in use"));
+            } else if (takenEmails.contains(normalize(userSignupDto.getEmail()))) {
+                results.add(BulkRowResult.failed(pendingUser.row(), userSignupDto.getUsername(), "Email is already in use"));
+            } else {
+                accepted.add(pendingUser);
+            }
+        }
+        return accepted;
+    }
+
+    private void created(final PendingUser pendingUser, final Long id, final List<BulkRowResult> results) {
+        final UserSignupDto userSignupDto = pendingUser.userSignupDto();
+        userAvailabilityIndex.register(userSignupDto.getUsername(), userSignupDto.getEmail());
+        results.add(BulkRowResult.created(pendingUser.row(), userSignupDto.getUsername(), id));
+    }
+
+    private static String normalize(final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingUser(int row, UserSignupDto userSignupDto) {
+    }
+}
@@ -2,12 +2,18 @@ package io.aycodes.automataapi.users.service.impl;
 
 
 import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.PasswordHashingRejectedException;
 import io.aycodes.automataapi.common.dtos.user.UserSignupDto;
 import io.aycodes.automataapi.users.model.User;
 import io.aycodes.automataapi.users.repository.UserRepo;
+import io.aycodes.automataapi.users.service.PrincipalCache;
+import io.aycodes.automataapi.users.service.UserAvailabilityIndex;
 import io.aycodes.automataapi.users.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,21 +25,23 @@ import java.util.Optional;
 @Transactional
 @Slf4j
 @RequiredArgsConstructor
-public class UserServiceImpl implements UserService {
+public class UserServiceImpl implements UserService, UserDetailsPasswordService {
 
     private final UserRepo                  userRepo;
     private final PasswordEncoder           passwordEncoder;
+    private final PrincipalCache            principalCache;
+    private final UserAvailabilityIndex     userAvailabilityIndex;
 
     @Override
     public User createUser(final UserSignupDto userSignupDto) throws CustomException {
         final String email = userSignupDto.getEmail();
         final String username = userSignupDto.getUsername();
         log.info("checking if email exists");
-        if (userRepo.findByEmail(email).isPresent()) {
+        if (userAvailabilityIndex.isEmailTaken(email)) {
             throw new CustomException("Email is already in use");
         }
 
-        if (userRepo.findByUsername(username).isPresent()) {
+        if (userAvailabilityIndex.isUsernameTaken(username)) {
             throw new CustomException("Username is already in use");
         }
 
@@ -44,7 +52,13 @@ public class UserServiceImpl implements UserService {
                     .username(username)
                     .password(passwordEncoder.encode(userSignupDto.getPassword()))
                     .build();
-            return userRepo.save(user);
+            final User savedUser = userRepo.save(user);
+            principalCache.invalidate(username);
+            userAvailabilityIndex.register(username, email);
+            return savedUser;
+        } catch (final PasswordHashingRejectedException e) {
+            log.error(e.getMessage());
+            throw new CustomException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
         } catch (final Exception e) {
             final String message = "Unable to create user";
             log.error(message, e);
@@ -52,6 +66,16 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public UserDetails updatePassword(final UserDetails userDetails, final String newPassword) {
+        log.info("Rehashing user password to match the current hashing policy");
+        final User user = (User) userDetails;
+        user.setPassword(newPassword);
+        final User savedUser = userRepo.save(user);
+        principalCache.invalidate(user.getUsername());
+        return savedUser;
+    }
+
     @Override
     public Optional<User> getUserById(final long userId) {
         return userRepo.findById(userId);
@@ -0,0 +1,39 @@
+-- Runs after Hibernate on every startup (spring.sql.init.mode: always), so each index is only created
+-- when information_schema does not list it yet. MySQL has no CREATE INDEX IF NOT EXISTS.
+
+-- listings of a user in created and updated order, and keyset pages over them
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()
+        AND table_name = 'test_case' AND index_name = 'idx_test_case_user_created') = 0,
+    'CREATE INDEX idx_test_case_user_created ON test_case (user_id, created_on, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()
+        AND table_name = 'test_case' AND index_name = 'idx_test_case_user_updated') = 0,
+    'CREATE INDEX idx_test_case_user_updated ON test_case (user_id, updated_on, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- listings filtered by status, by priority or by both
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()
+        AND table_name = 'test_case' AND index_name = 'idx_test_case_user_status_created') = 0,
+    'CREATE INDEX idx_test_case_user_status_created ON test_case (user_id, status, created_on, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()
+        AND table_name = 'test_case' AND index_name = 'idx_test_case_user_priority_created') = 0,
+    'CREATE INDEX idx_test_case_user_priority_created ON test_case (user_id, priority, created_on, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE()
+        AND table_name = 'test_case' AND index_name = 'idx_test_case_user_status_priority_created') = 0,
+    'CREATE INDEX idx_test_case_user_status_priority_created ON test_case (user_id, status, priority, created_on, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
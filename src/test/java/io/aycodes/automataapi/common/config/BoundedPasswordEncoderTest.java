@@ -0,0 +1,130 @@
+package io.aycodes.automataapi.common.config;
+
+import io.aycodes.automataapi.common.dtos.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch        release = new CountDownLatch(1);
+    private final CountDownLatch        started = new CountDownLatch(1);
+    private final SimpleMeterRegistry   meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder      underTest;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        underTest.shutdown();
+    }
+
+    @Test
+    void testEncode_DelegatesOnPoolThread() {
+        //Given
+        underTest = new BoundedPasswordEncoder(new ThreadNameEncoder(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        //When
+        String encoded = underTest.encode("secret");
+
+        //Then
+        assertThat(encoded).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("password.hashing.execution").tag("operation", "encode").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void testEncode_WhenPoolAndQueueAreFull() throws InterruptedException {
+        //Given
+        underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+        CompletableFuture.runAsync(() -> underTest.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> underTest.encode("queued"));
+        waitForQueuedTask();
+
+        //Then
+        assertThatThrownBy(() -> underTest.encode("rejected"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testEncodeAll_NeverOverflowsTheQueue() {
+        //Given
+        release.countDown();
+        underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 2, 1, Duration.ofSeconds(5), meterRegistry);
+        List<String> passwords = List.of("a", "b", "c", "d", "e", "f", "g", "h");
+
+        //When
+        List<String> encoded = underTest.encodeAll(passwords);
+
+        //Then
+        assertThat(encoded).isEqualTo(passwords);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(0.0);
+    }
+
+    @Test
+    void testMatches_WhenDelegateDoesNotAnswerInTime() {
+        //Given
+        underTest = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        //Then
+        assertThatThrownBy(() -> underTest.matches("secret", "hash"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessageContaining("timed out");
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static class ThreadNameEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return true;
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            await();
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
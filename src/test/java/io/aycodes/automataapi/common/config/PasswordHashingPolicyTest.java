@@ -0,0 +1,46 @@
+package io.aycodes.automataapi.common.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class PasswordHashingPolicyTest {
+
+    private final PasswordHashingPolicy underTest = new PasswordHashingPolicy(5, 250, 4, 14);
+    private final PasswordEncoder       encoder = underTest.passwordEncoder();
+
+    @Test
+    void testEncode_UsesPrefixedHashWithPolicyStrength() {
+        String encoded = encoder.encode("Passw0rd!");
+
+        assertThat(encoded).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches("Passw0rd!", encoded)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    void testUpgradeEncoding_WhenHashIsLegacyUnprefixed() {
+        String legacy = new BCryptPasswordEncoder(5).encode("Passw0rd!");
+
+        assertThat(encoder.matches("Passw0rd!", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void testUpgradeEncoding_WhenCostDiffersFromPolicy() {
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Passw0rd!");
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("Passw0rd!");
+
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isTrue();
+    }
+
+    @Test
+    void testCalibration_StaysWithinConfiguredBounds() {
+        PasswordHashingPolicy calibrated = new PasswordHashingPolicy(0, 1, 4, 6);
+
+        assertThat(calibrated.getStrength()).isEqualTo(4);
+    }
+}
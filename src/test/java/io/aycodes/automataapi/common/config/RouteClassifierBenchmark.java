@@ -0,0 +1,67 @@
+package io.aycodes.automataapi.common.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures the pre-check {@link JwtAuthenticationFilter} runs on every request, comparing the
+ * compiled {@link RouteClassifier} with the previous per-call list and stream matching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteClassifierBenchmark {
+
+    @Param({"/api/v1/test-case/42", "/api/v1/auth/login", "/swagger-ui/index.html"})
+    private String                          uri;
+
+    private HttpServletRequest              request;
+    private Predicate<HttpServletRequest>   legacy;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", uri);
+        legacy = r -> openEndpoints().stream()
+                .noneMatch(prefix -> r.getRequestURI().startsWith(prefix));
+    }
+
+    @Benchmark
+    public boolean streamOverOpenEndpoints() {
+        return legacy.test(request);
+    }
+
+    @Benchmark
+    public boolean routeClassifier() {
+        return SecurityConfig.isApiSecured().test(request);
+    }
+
+    private static List<String> openEndpoints() {
+        return List.of(
+                "/api/v1/users/register",
+                "/api/v1/auth/login",
+                "/api/v1/auth/email-availability",
+                "/api/v1/auth/username-availability",
+                "/api/v1/users/new-user",
+                "/swagger-ui",
+                "/v3/api-docs"
+        );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteClassifierBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,42 @@
+package io.aycodes.automataapi.common.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier underTest = RouteClassifier.compile(List.of(
+            "/api/v1/auth/login",
+            "/api/v1/auth/email-availability",
+            "/swagger-ui"
+    ));
+
+    @Test
+    void testIsOpen_WhenUriMatchesOpenEndpointExactly() {
+        assertThat(underTest.isOpen("/api/v1/auth/login")).isTrue();
+    }
+
+    @Test
+    void testIsOpen_WhenUriStartsWithOpenEndpoint() {
+        assertThat(underTest.isOpen("/swagger-ui/index.html")).isTrue();
+        assertThat(underTest.isOpen("/api/v1/auth/email-availability?email=a@b.com")).isTrue();
+    }
+
+    @Test
+    void testIsOpen_WhenUriIsSecured() {
+        assertThat(underTest.isOpen("/api/v1/test-case/1")).isFalse();
+        assertThat(underTest.isOpen("/api/v1/auth/log")).isFalse();
+        assertThat(underTest.isOpen("/api/v1/auth/ĺogin")).isFalse();
+        assertThat(underTest.isOpen("")).isFalse();
+    }
+
+    @Test
+    void testCompile_WhenPrefixIsNotAscii() {
+        assertThatThrownBy(() -> RouteClassifier.compile(List.of("/api/ĺogin")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package io.aycodes.automataapi.common.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void testReadRow_SplitsPlainFieldsAcrossLineEndings() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("title,description\r\nt1,first\nt2,\n,last"));
+
+        assertThat(reader.readRow()).containsExactly("title", "description");
+        assertThat(reader.readRow()).containsExactly("t1", "first");
+        assertThat(reader.readRow()).containsExactly("t2", "");
+        assertThat(reader.readRow()).containsExactly("", "last");
+        assertThat(reader.readRow()).isNull();
+    }
+
+    @Test
+    void testReadRow_KeepsSeparatorsQuotesAndLineBreaksInsideQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"line\r\nbreak\"\r\nnext,row\r\n"));
+
+        assertThat(reader.readRow()).containsExactly("a,b", "say \"hi\"", "line\r\nbreak");
+        assertThat(reader.readRow()).containsExactly("next", "row");
+        assertThat(reader.readRow()).isNull();
+    }
+
+    @Test
+    void testReadRow_ReadsBackWhatCsvWriterWrote() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow("id", "title", "description");
+        writer.writeRow(1L, "t,1", "say \"hi\"\nnext");
+        writer.writeRow(2L, null, "");
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+
+        assertThat(reader.readRow()).containsExactly("id", "title", "description");
+        assertThat(reader.readRow()).containsExactly("1", "t,1", "say \"hi\"\nnext");
+        assertThat(reader.readRow()).containsExactly("2", "", "");
+        assertThat(reader.readRow()).isNull();
+    }
+
+    @Test
+    void testReadRow_RejectsAnUnterminatedQuotedField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok,row\n\"never closed,\nstill open"));
+
+        assertThat(reader.readRow()).isEqualTo(List.of("ok", "row"));
+        assertThatThrownBy(reader::readRow).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package io.aycodes.automataapi.common.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long   START = 1_700_000_000_000L;
+
+    @Test
+    void testTryConsume_WhenBucketIsDrained() {
+        TokenBucket bucket = new TokenBucket(2, START);
+
+        assertThat(bucket.tryConsume(START, 2, 1000)).isTrue();
+        assertThat(bucket.tryConsume(START, 2, 1000)).isTrue();
+        assertThat(bucket.tryConsume(START, 2, 1000)).isFalse();
+    }
+
+    @Test
+    void testTryConsume_RefillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, START);
+        bucket.tryConsume(START, 2, 1000);
+        bucket.tryConsume(START, 2, 1000);
+
+        assertThat(bucket.tryConsume(START + 999, 2, 1000)).isFalse();
+        assertThat(bucket.tryConsume(START + 1500, 2, 1000)).isTrue();
+        // the half interval left over from the previous refill still counts
+        assertThat(bucket.tryConsume(START + 2000, 2, 1000)).isTrue();
+        assertThat(bucket.tryConsume(START + 2000, 2, 1000)).isFalse();
+    }
+
+    @Test
+    void testTryConsume_NeverRefillsAboveCapacity() {
+        TokenBucket bucket = new TokenBucket(2, START);
+
+        long later = START + 60_000;
+        assertThat(bucket.tryConsume(later, 2, 1000)).isTrue();
+        assertThat(bucket.tryConsume(later, 2, 1000)).isTrue();
+        assertThat(bucket.tryConsume(later, 2, 1000)).isFalse();
+    }
+
+    @Test
+    void testConstructor_WhenCapacityIsOutOfRange() {
+        assertThatThrownBy(() -> new TokenBucket(0, START)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(TokenBucket.MAX_CAPACITY + 1, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package io.aycodes.automataapi.testcase.repository;
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCasePatch;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static io.aycodes.automataapi.common.enums.TestCasePriority.HIGH;
+import static io.aycodes.automataapi.common.enums.TestCasePriority.MEDIUM;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.BLOCKED;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest
+@Import(TestCaseBatchRepo.class)
+class TestCaseBatchRepoTest {
+
+    @Autowired
+    private TestCaseBatchRepo       underTest;
+    @Autowired
+    private TestCaseRepo            testCaseRepo;
+    @Autowired
+    private UserRepo                userRepo;
+    @Autowired
+    private EntityManager           entityManager;
+    @Autowired
+    private EntityManagerFactory    entityManagerFactory;
+    @Autowired
+    private TransactionTemplate     transactionTemplate;
+
+    private User                    owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder().username("owner").email("owner@example.com").password("123456789").build());
+    }
+
+    @Test
+    void testApplyPatch_OnlyUpdatesTheVersionItWasGiven() {
+        // Given
+        TestCase testCase = testCaseRepo.save(TestCase.builder().title("t1").description("d").user(owner).build());
+        long version = testCase.getVersion();
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int stale = underTest.applyPatch(testCase.getId(), owner.getId(), version + 1,
+                TestCasePatch.builder().status(BLOCKED).build(), now);
+        int current = underTest.applyPatch(testCase.getId(), owner.getId(), version,
+                TestCasePatch.builder().priority(MEDIUM).description("patched").build(), now);
+        int repeated = underTest.applyPatch(testCase.getId(), owner.getId(), version,
+                TestCasePatch.builder().status(BLOCKED).build(), now);
+        int otherUser = underTest.updateStatus(testCase.getId(), owner.getId() + 1, version + 1, PASSED, now);
+
+        // Then
+        TestCaseView patched = testCaseRepo.findViewByIdAndUserId(testCase.getId(), owner.getId()).orElseThrow();
+        assertThat(stale).isZero();
+        assertThat(current).isOne();
+        assertThat(repeated).isZero();
+        assertThat(otherUser).isZero();
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+        assertThat(patched.getTitle()).isEqualTo("t1");
+        assertThat(patched.getDescription()).isEqualTo("patched");
+        assertThat(patched.getStatus()).isEqualTo(testCase.getStatus());
+        assertThat(patched.getPriority()).isEqualTo(MEDIUM);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    // the rows are committed so that they reach the second level cache
+    @DirtiesContext
+    void testUpdatePriority_ReplacesOnlyTheCachedEntryOfTheUpdatedRow() {
+        // Given two test cases read into the second level cache
+        TestCase updated = testCaseRepo.save(TestCase.builder().title("t1").description("d").user(owner).build());
+        TestCase untouched = testCaseRepo.save(TestCase.builder().title("t2").description("d").user(owner).build());
+        testCaseRepo.findById(updated.getId());
+        testCaseRepo.findById(untouched.getId());
+        assertThat(entityManagerFactory.getCache().contains(TestCase.class, untouched.getId())).isTrue();
+
+        // When
+        int rows = transactionTemplate.execute(status -> underTest.updatePriority(updated.getId(), owner.getId(),
+                updated.getVersion(), HIGH, LocalDateTime.now()));
+
+        // Then the other entry is still cached and the updated one is read again
+        assertThat(rows).isOne();
+        assertThat(entityManagerFactory.getCache().contains(TestCase.class, untouched.getId())).isTrue();
+        TestCase reread = testCaseRepo.findById(updated.getId()).orElseThrow();
+        assertThat(reread.getPriority()).isEqualTo(HIGH);
+        assertThat(reread.getVersion()).isEqualTo(updated.getVersion() + 1);
+    }
+}
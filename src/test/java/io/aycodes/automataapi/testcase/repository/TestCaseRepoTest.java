@@ -0,0 +1,176 @@
+package io.aycodes.automataapi.testcase.repository;
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseFilter;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.enums.TestCaseSortField;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aycodes.automataapi.common.enums.TestCasePriority.*;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "io.aycodes.automataapi.testcase.repository.TestCaseRepoTest$LastStatements")
+class TestCaseRepoTest {
+
+    @Autowired
+    private TestCaseRepo    underTest;
+    @Autowired
+    private UserRepo        userRepo;
+    @Autowired
+    private EntityManager   entityManager;
+
+    private User            owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder().username("owner").email("owner@example.com").password("123456789").build());
+        User other = userRepo.save(User.builder().username("other").email("other@example.com").password("123456789").build());
+        for (int i = 0; i < 7; i++) {
+            underTest.save(TestCase.builder().title("owner-" + i).description("case " + i).user(owner)
+                    .status(i % 2 == 0 ? FAILED : PASSED).priority(i < 3 ? HIGH : LOW).build());
+        }
+        underTest.save(TestCase.builder().title("other-0").description("not visible").user(other).build());
+    }
+
+    @Test
+    void testKeysetPages_WalkEveryRowOnceInOrder() {
+        // Given
+        List<TestCaseView> all = underTest.findFirstKeysetPage(owner.getId(), PageRequest.of(0, 100));
+
+        // When
+        List<TestCaseView> walked = new ArrayList<>();
+        List<TestCaseView> page = underTest.findFirstKeysetPage(owner.getId(), PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            TestCaseView last = page.get(page.size() - 1);
+            page = underTest.findKeysetPageAfter(owner.getId(), last.getCreatedOn(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        // Then
+        assertThat(all).hasSize(7);
+        assertThat(walked).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void testFindViews_FiltersAndSortsWithinTheUser() {
+        // Given
+        TestCaseFilter failedHigh = TestCaseFilter.builder().status(FAILED).priority(HIGH).build();
+        TestCaseFilter byPriority = TestCaseFilter.builder().sortBy(TestCaseSortField.PRIORITY)
+                .direction(Sort.Direction.ASC).build();
+
+        // When
+        List<TestCaseView> triage = underTest.findViews(owner.getId(), failedHigh, null, 0, 100);
+        List<TestCaseView> sorted = underTest.findViews(owner.getId(), byPriority, null, 0, 100);
+
+        // Then
+        assertThat(triage).extracting(TestCaseView::getTitle).containsExactly("owner-2", "owner-0");
+        assertThat(underTest.countViews(owner.getId(), failedHigh)).isEqualTo(2);
+        assertThat(sorted).hasSize(7);
+        assertThat(sorted).extracting(TestCaseView::getPriority).startsWith(LOW, LOW, LOW, LOW).endsWith(HIGH);
+    }
+
+    @Test
+    void testManagedUpdate_WritesOnlyChangedColumnsAndMovesTheVersion() {
+        // Given
+        TestCase testCase = underTest.findAll().get(0);
+        long version = testCase.getVersion();
+        entityManager.flush();
+
+        // When
+        testCase.setPriority(MEDIUM);
+        entityManager.flush();
+
+        // Then
+        assertThat(LastStatements.update).contains("priority", "version").doesNotContain("title", "description", "status");
+        assertThat(underTest.findVersionByIdAndUserId(testCase.getId(), owner.getId())).contains(version + 1);
+        assertThat(underTest.findVersionByIdAndUserId(testCase.getId(), owner.getId() + 1)).isEmpty();
+    }
+
+    @Test
+    // analyze commits the open transaction, so the rows it sees would outlive the test
+    @DirtiesContext
+    void testFindViews_EachQueryShapeReadsItsCompositeIndex() {
+        // Given enough rows spread over users, statuses and priorities for the optimizer to tell the indexes apart
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            userRepo.save(User.builder().username("user-" + i).email(i + "@example.com").password("123456789").build());
+        }
+        entityManager.createNativeQuery("insert into test_case (title, description, status, priority, user_id, created_on, updated_on, version) "
+                + "select 'bulk-' || x, 'bulk', mod(x, 4), mod(x / 4, 3), (select min(id) from \"user\") + mod(x, 22), "
+                + "dateadd('MINUTE', -x, localtimestamp), dateadd('MINUTE', -mod(x, 97), localtimestamp), 0 "
+                + "from system_range(1, 20000)").executeUpdate();
+        entityManager.createNativeQuery("analyze").executeUpdate();
+
+        // Then, filtered shapes only: H2 reads an index for ordering only when it starts with the sort columns,
+        // while MySQL also serves the sort-only shapes from these indexes after the user_id equality
+        assertThat(planOf(TestCaseFilter.builder().status(FAILED).priority(HIGH).build(), owner.getId(), FAILED.ordinal(), HIGH.ordinal()))
+                .containsIgnoringCase("idx_test_case_user_status_priority_created");
+        assertThat(planOf(TestCaseFilter.builder().status(FAILED).build(), owner.getId(), FAILED.ordinal()))
+                .containsIgnoringCase("idx_test_case_user_status_created");
+        assertThat(planOf(TestCaseFilter.builder().priority(HIGH).build(), owner.getId(), HIGH.ordinal()))
+                .containsIgnoringCase("idx_test_case_user_priority_created");
+        assertThat(planOf(TestCaseFilter.builder().updatedFrom(now.minusDays(1)).sortBy(TestCaseSortField.UPDATED_ON).build(),
+                owner.getId(), now.minusDays(1)))
+                .containsIgnoringCase("idx_test_case_user_updated");
+        assertThat(planOf(TestCaseFilter.builder().createdFrom(now.minusDays(1)).createdTo(now).build(),
+                owner.getId(), now.minusDays(1), now))
+                .containsIgnoringCase("idx_test_case_user_created");
+    }
+
+    /**
+     * Runs the filter, then asks H2 for the plan of the exact statement Hibernate sent, binding the
+     * condition values in order and a row limit to whatever parameters follow them.
+     */
+    private String planOf(TestCaseFilter filter, Object... conditionValues) {
+        underTest.findViews(owner.getId(), filter, null, 0, 20);
+        String sql = LastStatements.select;
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + sql)) {
+                int parameters = sql.length() - sql.replace("?", "").length();
+                for (int i = 0; i < parameters; i++) {
+                    explain.setObject(i + 1, i < conditionValues.length ? conditionValues[i] : 20);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class LastStatements implements StatementInspector {
+
+        static volatile String select;
+        static volatile String update;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select")) {
+                LastStatements.select = sql;
+            } else if (sql.startsWith("update")) {
+                LastStatements.update = sql;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.aycodes.automataapi.testcase.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25IndexTest {
+
+    @Test
+    void testSearch_RanksRarerAndTitleMatchesFirst() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Login with valid password", "User signs in and lands on the dashboard");
+        index.put(2L, "Logout", "User clicks logout, the session ends and login is shown again");
+        index.put(3L, "Reset password", "A reset email is sent to the user");
+
+        assertThat(index.search("login", 10)).extracting(SearchHit::id).containsExactly(1L, 2L);
+        assertThat(index.search("password reset", 10)).extracting(SearchHit::id).first().isEqualTo(3L);
+        assertThat(index.search("user", 2)).hasSize(2);
+    }
+
+    @Test
+    void testSearch_IgnoresCaseAndPunctuation() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Checkout: pay-by-card", "Card payment succeeds");
+
+        assertThat(index.search("CARD", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("pay, by", 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("  ?! ", 10)).isEmpty();
+    }
+
+    @Test
+    void testPutAndRemove_KeepTheIndexInStepWithTheDocuments() {
+        Bm25Index index = new Bm25Index();
+        index.put(1L, "Search by title", "finds test cases");
+        index.put(2L, "Search by description", "finds test cases");
+
+        index.put(1L, "Filter by status", "narrows the list");
+        index.remove(2L);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("search", 10)).isEmpty();
+        assertThat(index.search("status", 10)).extracting(SearchHit::id).containsExactly(1L);
+        index.remove(1L);
+        assertThat(index.search("status", 10)).isEmpty();
+    }
+}
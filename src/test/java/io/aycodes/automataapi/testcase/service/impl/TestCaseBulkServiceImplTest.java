@@ -0,0 +1,338 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aycodes.automataapi.common.dtos.BulkImportSummary;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
+import io.aycodes.automataapi.common.dtos.CustomException;
+import io.aycodes.automataapi.common.dtos.testcase.BulkStatusUpdateDto;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseDto;
+import io.aycodes.automataapi.common.enums.ExportFormat;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import io.aycodes.automataapi.testcase.repository.TestCaseBatchRepo;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import jakarta.validation.Validation;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.aycodes.automataapi.common.enums.TestCasePriority.HIGH;
+import static io.aycodes.automataapi.common.enums.TestCasePriority.MEDIUM;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.NOT_RUN;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "io.aycodes.automataapi.testcase.service.impl.TestCaseBulkServiceImplTest$TitleLookups")
+@Import({TestCaseBatchRepo.class, TestCaseBulkServiceImplTest.InsertBatches.class})
+// every chunk commits in its own transaction, as it does in the application
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TestCaseBulkServiceImplTest {
+
+    private static final int                    CHUNK_SIZE = 3;
+    private static final Classification         NEW = new Classification(NOT_RUN, MEDIUM);
+    private static final Classification         DONE = new Classification(PASSED, MEDIUM);
+
+    @Autowired
+    private TestCaseRepo                        testCaseRepo;
+    @Autowired
+    private TestCaseBatchRepo                   testCaseBatchRepo;
+    @Autowired
+    private UserRepo                            userRepo;
+    @Autowired
+    private TransactionTemplate                 transactionTemplate;
+
+    private final List<TestCaseChangeEvent>     events = new ArrayList<>();
+    private User                                owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder().username("owner").email("owner@example.com").password("123456789").build());
+        TitleLookups.count.set(0);
+        InsertBatches.rows.set(0);
+        InsertBatches.batches.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testCaseRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void testCreateTestCases_MapsGeneratedIdsToTheirRowsAcrossChunks() {
+        // Given seven rows, two of them rejected before insert, so that the accepted ones span two chunks
+        List<TestCaseDto> rows = List.of(dto("t0"), dto("t1"), dto(" "), dto("t3"), dto("t4"), dto("T1"), dto("t6"));
+
+        // When
+        List<BulkRowResult> results = service(testCaseRepo).createTestCases(rows.iterator(), owner.getId());
+
+        // Then every row is reported once, in order, and each created id holds the title of its row
+        assertThat(results).extracting(BulkRowResult::getRow).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(BulkRowResult::isSuccess).containsExactly(true, true, false, true, true, false, true);
+        assertThat(results.get(2).getMessage()).isEqualTo("Testcase must have a valid title");
+        assertThat(results.get(5).getMessage()).isEqualTo("Title appears more than once in the request");
+        results.stream().filter(BulkRowResult::isSuccess).forEach(result -> assertThat(
+                testCaseRepo.findById(result.getId()).map(TestCase::getTitle))
+                .contains(rows.get(result.getRow()).getTitle()));
+        assertThat(events).extracting(TestCaseChangeEvent::testCaseId)
+                .containsExactlyElementsOf(results.stream().filter(BulkRowResult::isSuccess).map(BulkRowResult::getId).toList());
+        assertThat(testCaseRepo.count()).isEqualTo(5);
+    }
+
+    @Test
+    void testCreateTestCases_RejectsTitlesDuplicatedInThePayloadOrAlreadyStored() {
+        // Given
+        insertExisting("t1");
+        List<TestCaseDto> rows = List.of(dto("t1"), dto("t2"), dto("t2"), dto("t3"));
+
+        // When
+        List<BulkRowResult> results = service(testCaseRepo).createTestCases(rows.iterator(), owner.getId());
+
+        // Then
+        assertThat(results).extracting(BulkRowResult::getMessage).containsExactly(
+                "TestCase with same name already exists", "Created", "Title appears more than once in the request", "Created");
+        assertThat(events).extracting(TestCaseChangeEvent::title).containsExactly("t2", "t3");
+        assertThat(testCaseRepo.count()).isEqualTo(3);
+    }
+
+    @Test
+    void testCreateTestCases_ConflictingBatchIsRetriedRowByRow() {
+        // Given a title taken after the existing titles were checked
+        insertExisting("t1");
+        TestCaseRepo staleTitles = mock(TestCaseRepo.class, delegatesTo(testCaseRepo));
+        doReturn(List.of()).when(staleTitles).findExistingTitles(anyCollection());
+        List<TestCaseDto> rows = List.of(dto("t0"), dto("t1"), dto("t2"));
+
+        // When
+        List<BulkRowResult> results = service(staleTitles).createTestCases(rows.iterator(), owner.getId());
+
+        // Then the rest of the chunk is still created, each row with its own id
+        assertThat(results).extracting(BulkRowResult::getMessage)
+                .containsExactly("Created", "TestCase with same name already exists", "Created");
+        assertThat(testCaseRepo.findById(results.get(0).getId()).map(TestCase::getTitle)).contains("t0");
+        assertThat(testCaseRepo.findById(results.get(2).getId()).map(TestCase::getTitle)).contains("t2");
+        assertThat(events).extracting(TestCaseChangeEvent::title).containsExactly("t0", "t2");
+        assertThat(testCaseRepo.count()).isEqualTo(3);
+    }
+
+    @Test
+    void testImportTestCases_InsertsEachChunkWithOneLookupAndOneBatch() throws Exception {
+        // Given seven CSV rows, one of them quoted over two lines
+        String csv = """
+                title,description
+                t0,d
+                t1,d
+                "t,2","say ""hi""
+                next"
+                t3,d
+                t4,d
+                t5,d
+                t6,d
+                """;
+
+        // When
+        BulkImportSummary summary = service(testCaseRepo).importTestCases(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ExportFormat.CSV, owner.getId());
+
+        // Then the three chunks each checked their titles once and went to the table as one batch
+        assertThat(summary.getCreated()).isEqualTo(7);
+        assertThat(summary.getFailed()).isZero();
+        assertThat(TitleLookups.count).hasValue(3);
+        assertThat(InsertBatches.batches).hasValue(3);
+        assertThat(InsertBatches.rows).hasValue(7);
+        assertThat(testCaseRepo.existsByTitle("t,2")).isTrue();
+    }
+
+    @Test
+    void testImportTestCases_ConflictingBatchFallsBackToOneInsertPerRow() throws Exception {
+        // Given NDJSON rows, one of them invalid and one taken after the existing titles were checked
+        insertExisting("t1");
+        TestCaseRepo staleTitles = mock(TestCaseRepo.class, delegatesTo(testCaseRepo));
+        doReturn(List.of()).when(staleTitles).findExistingTitles(anyCollection());
+        String ndjson = """
+                {"title":"t0","description":"d"}
+                {"title":"t1","description":"d"}
+                {"title":"t2","description":""}
+                {"title":"t3","description":"d"}
+                """;
+
+        // When
+        BulkImportSummary summary = service(staleTitles).importTestCases(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ExportFormat.NDJSON, owner.getId());
+
+        // Then the failed batch is followed by one single row batch per accepted row
+        assertThat(summary.getTotalRows()).isEqualTo(4);
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getErrors()).extracting(BulkRowResult::getRow, BulkRowResult::getMessage).containsExactly(
+                tuple(1, "TestCase with same name already exists"),
+                tuple(2, "Testcase must have a valid description"));
+        assertThat(InsertBatches.batches).hasValue(4);
+        assertThat(InsertBatches.rows).hasValue(6);
+        assertThat(events).extracting(TestCaseChangeEvent::title).containsExactly("t0", "t3");
+        assertThat(testCaseRepo.count()).isEqualTo(3);
+    }
+
+    @Test
+    void testUpdateTestCaseStatuses_LeavesTestCasesOfOtherUsersUntouched() throws CustomException {
+        // Given
+        User other = userRepo.save(User.builder().username("other").email("other@example.com").password("123456789").build());
+        TestCase own1 = insertExisting("t1");
+        TestCase foreign = testCaseRepo.save(TestCase.builder().title("t2").description("d").user(other).build());
+        TestCase own2 = insertExisting("t3");
+        TestCase own3 = insertExisting("t4");
+
+        // When four ids span two chunks
+        List<BulkRowResult> results = service(testCaseRepo).updateTestCaseStatuses(BulkStatusUpdateDto.builder()
+                .status(PASSED).testCaseIds(List.of(own1.getId(), foreign.getId(), own2.getId(), own3.getId())).build(),
+                owner.getId());
+
+        // Then
+        assertThat(results).extracting(BulkRowResult::getMessage)
+                .containsExactly("Updated", "TestCase not found", "Updated", "Updated");
+        TestCase untouched = testCaseRepo.findById(foreign.getId()).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(NOT_RUN);
+        assertThat(untouched.getVersion()).isEqualTo(foreign.getVersion());
+        assertThat(events).containsExactlyInAnyOrder(
+                TestCaseChangeEvent.reclassified(owner.getId(), own1.getId(), NEW, DONE),
+                TestCaseChangeEvent.reclassified(owner.getId(), own2.getId(), NEW, DONE),
+                TestCaseChangeEvent.reclassified(owner.getId(), own3.getId(), NEW, DONE));
+    }
+
+    @Test
+    void testUpdateTestCaseStatuses_RowChangedAfterItWasReadIsReportedWithoutAnEvent() throws CustomException {
+        // Given a test case whose priority is changed between the read and the batch update
+        TestCase changed = insertExisting("t1");
+        TestCase unchanged = insertExisting("t2");
+        TestCaseRepo concurrentChange = mock(TestCaseRepo.class, delegatesTo(testCaseRepo));
+        doAnswer(invocation -> {
+            List<TestCaseRepo.Classified> classifications = testCaseRepo.findClassifications(
+                    invocation.getArgument(0), owner.getId());
+            testCaseBatchRepo.updatePriority(changed.getId(), owner.getId(), changed.getVersion(), HIGH, LocalDateTime.now());
+            return classifications;
+        }).when(concurrentChange).findClassifications(anyCollection(), eq(owner.getId()));
+
+        // When
+        List<BulkRowResult> results = service(concurrentChange).updateTestCaseStatuses(BulkStatusUpdateDto.builder()
+                .status(PASSED).testCaseIds(List.of(changed.getId(), unchanged.getId())).build(), owner.getId());
+
+        // Then the counts only move for the row actually updated
+        assertThat(results).extracting(BulkRowResult::getMessage)
+                .containsExactly("TestCase is being changed by another request, try again", "Updated");
+        TestCase reread = testCaseRepo.findById(changed.getId()).orElseThrow();
+        assertThat(reread.getStatus()).isEqualTo(NOT_RUN);
+        assertThat(reread.getPriority()).isEqualTo(HIGH);
+        assertThat(events).containsExactly(TestCaseChangeEvent.reclassified(owner.getId(), unchanged.getId(), NEW, DONE));
+    }
+
+    private TestCaseBulkServiceImpl service(final TestCaseRepo testCaseRepo) {
+        return new TestCaseBulkServiceImpl(testCaseRepo, testCaseBatchRepo,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate,
+                event -> events.add((TestCaseChangeEvent) event),
+                new ObjectMapper(), CHUNK_SIZE, 100, 10);
+    }
+
+    private TestCase insertExisting(final String title) {
+        return testCaseRepo.save(TestCase.builder().title(title).description("d").user(owner).build());
+    }
+
+    private static TestCaseDto dto(final String title) {
+        return new TestCaseDto(title, "d");
+    }
+
+    public static class TitleLookups implements StatementInspector {
+
+        static final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") && sql.contains(".title from test_case")) {
+                count.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Counts the rows added to and the batches executed on test case inserts, which go over plain JDBC
+     * and so never reach the statement inspector.
+     */
+    static class InsertBatches implements BeanPostProcessor {
+
+        static final AtomicInteger rows = new AtomicInteger();
+        static final AtomicInteger batches = new AtomicInteger();
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource, (method, args, result) -> method.getName().equals("getConnection")
+                    ? proxy(Connection.class, (Connection) result, (connectionMethod, sql, statement) ->
+                            connectionMethod.getName().equals("prepareStatement")
+                                    && ((String) sql[0]).startsWith("insert into test_case")
+                                    ? proxy(PreparedStatement.class, (PreparedStatement) statement, InsertBatches::count)
+                                    : statement)
+                    : result);
+        }
+
+        private static Object count(final Method method, final Object[] args, final Object result) {
+            if (method.getName().equals("addBatch")) {
+                rows.incrementAndGet();
+            } else if (method.getName().equals("executeBatch")) {
+                batches.incrementAndGet();
+            }
+            return result;
+        }
+
+        private static <T> T proxy(final Class<T> type, final T target, final Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+                final Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (final InvocationTargetException e) {
+                    // a failed batch still counts as executed
+                    interceptor.intercept(method, args, null);
+                    throw e.getCause();
+                }
+                return interceptor.intercept(method, args, result);
+            }));
+        }
+
+        private interface Interceptor {
+            Object intercept(Method method, Object[] args, Object result);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseCounts;
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
+import io.aycodes.automataapi.testcase.model.TestCaseSummary;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.testcase.repository.TestCaseSummaryRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static io.aycodes.automataapi.common.enums.TestCasePriority.HIGH;
+import static io.aycodes.automataapi.common.enums.TestCasePriority.MEDIUM;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.NOT_RUN;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TestCaseDashboardServiceImplTest {
+
+    private static final Long                   USER = 1L;
+    private static final Classification         NEW = new Classification(NOT_RUN, MEDIUM);
+    private static final Classification         DONE = new Classification(PASSED, MEDIUM);
+
+    private TestCaseDashboardServiceImpl    underTest;
+    @Mock
+    private TestCaseRepo                    testCaseRepo;
+    @Mock
+    private TestCaseSummaryRepo             testCaseSummaryRepo;
+    @Mock
+    private TransactionTemplate             transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TestCaseDashboardServiceImpl(testCaseRepo, testCaseSummaryRepo, transactionTemplate);
+    }
+
+    @Test
+    void testReconcile_ChangeCommittedBeforeTheGroupingIsCountedOnce() {
+        // Given a create that is already in the table when it is grouped, but reaches its listener only afterwards
+        TestCaseChangeEvent created = TestCaseChangeEvent.created(USER, 3L, "t3", "d", NEW);
+        underTest.onTestCaseChangePublished(created);
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(group(USER, NOT_RUN, MEDIUM, 3)));
+
+        // When
+        underTest.reconcile();
+        underTest.onTestCaseChange(created);
+
+        // Then the grouping was not adopted over the pending change, the next read recounts instead
+        given(testCaseRepo.findClassificationCountsByUserId(USER)).willReturn(List.of(group(USER, NOT_RUN, MEDIUM, 3)));
+        assertThat(underTest.getCounts(USER).getTotal()).isEqualTo(3);
+        assertThat(underTest.getCounts(USER).getTotal()).isEqualTo(3);
+        verify(testCaseRepo, times(1)).findClassificationCountsByUserId(USER);
+    }
+
+    @Test
+    void testReconcile_ChangeCommittingWhileTheTableIsGroupedIsCountedOnce() {
+        // Given a create published before the grouping and committed while it runs
+        TestCaseChangeEvent created = TestCaseChangeEvent.created(USER, 3L, "t3", "d", NEW);
+        underTest.onTestCaseChangePublished(created);
+        given(testCaseRepo.streamClassificationCounts()).willAnswer(invocation -> {
+            underTest.onTestCaseChange(created);
+            return Stream.of(group(USER, NOT_RUN, MEDIUM, 3));
+        });
+
+        // When
+        underTest.reconcile();
+
+        // Then its delta is replaced by the grouping that already holds it
+        assertThat(underTest.getCounts(USER).getTotal()).isEqualTo(3);
+        verify(testCaseRepo, never()).findClassificationCountsByUserId(any());
+    }
+
+    @Test
+    void testOnTestCaseChange_ReclassifyMovesOneCaseBetweenCells() {
+        // Given
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(group(USER, NOT_RUN, MEDIUM, 2)));
+        underTest.reconcile();
+        TestCaseChangeEvent reclassified = TestCaseChangeEvent.reclassified(USER, 1L, NEW, DONE);
+
+        // When
+        underTest.onTestCaseChangePublished(reclassified);
+        underTest.onTestCaseChange(reclassified);
+
+        // Then
+        TestCaseCounts counts = underTest.getCounts(USER);
+        assertThat(counts.getTotal()).isEqualTo(2);
+        assertThat(counts.getByStatusAndPriority().get(NOT_RUN).get(MEDIUM)).isEqualTo(1);
+        assertThat(counts.getByStatusAndPriority().get(PASSED).get(MEDIUM)).isEqualTo(1);
+        assertThat(counts.getByPriority().get(HIGH)).isZero();
+    }
+
+    @Test
+    void testOnTestCaseChangeRolledBack_LeavesCountsAndReconciliationAlone() {
+        // Given
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(group(USER, NOT_RUN, MEDIUM, 2)));
+        underTest.reconcile();
+        TestCaseChangeEvent reclassified = TestCaseChangeEvent.reclassified(USER, 1L, NEW, DONE);
+
+        // When
+        underTest.onTestCaseChangePublished(reclassified);
+        underTest.onTestCaseChangeRolledBack(reclassified);
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(group(USER, NOT_RUN, MEDIUM, 4)));
+        underTest.reconcile();
+
+        // Then nothing is in flight any more, so the second grouping is adopted
+        assertThat(underTest.getCounts(USER).getByStatusAndPriority().get(NOT_RUN).get(MEDIUM)).isEqualTo(4);
+    }
+
+    @Test
+    void testReconcile_CorrectsChangesThisInstanceNeverSaw() {
+        // Given
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(group(USER, NOT_RUN, MEDIUM, 2)));
+        underTest.reconcile();
+
+        // When another instance completes one of them
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(
+                group(USER, NOT_RUN, MEDIUM, 1), group(USER, PASSED, MEDIUM, 1)));
+        underTest.reconcile();
+
+        // Then
+        TestCaseCounts counts = underTest.getCounts(USER);
+        assertThat(counts.getByStatus().get(NOT_RUN)).isEqualTo(1);
+        assertThat(counts.getByStatus().get(PASSED)).isEqualTo(1);
+    }
+
+    @Test
+    void testCheckpoint_WritesEveryUserOnceThenOnlyChangedUsers() {
+        // Given
+        runTransactionCallbacks();
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(
+                group(USER, NOT_RUN, MEDIUM, 2), group(2L, PASSED, HIGH, 1)));
+        underTest.reconcile();
+
+        // When
+        underTest.checkpoint();
+        TestCaseChangeEvent deleted = TestCaseChangeEvent.deleted(USER, 1L, NEW);
+        underTest.onTestCaseChangePublished(deleted);
+        underTest.onTestCaseChange(deleted);
+        underTest.checkpoint();
+        underTest.checkpoint();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TestCaseSummary>> saved = ArgumentCaptor.forClass(List.class);
+        verify(testCaseSummaryRepo, times(1)).deleteAllInBatch();
+        verify(testCaseSummaryRepo, times(1)).deleteByUserIds(List.of(USER));
+        verify(testCaseSummaryRepo, times(2)).saveAll(saved.capture());
+        assertThat(saved.getAllValues().get(0)).hasSize(2);
+        assertThat(saved.getAllValues().get(1)).singleElement()
+                .satisfies(summary -> assertThat(summary.getTotal()).isOne());
+    }
+
+    @Test
+    void testCheckpoint_SkipsUsersWaitingForARecount() {
+        // Given a user whose change was still pending when the table was grouped
+        runTransactionCallbacks();
+        TestCaseChangeEvent created = TestCaseChangeEvent.created(USER, 3L, "t3", "d", NEW);
+        underTest.onTestCaseChangePublished(created);
+        given(testCaseRepo.streamClassificationCounts()).willReturn(Stream.of(group(USER, NOT_RUN, MEDIUM, 3)));
+        underTest.reconcile();
+        underTest.checkpoint();
+        underTest.onTestCaseChange(created);
+
+        // When
+        underTest.checkpoint();
+
+        // Then only the empty full checkpoint ran, its deltas were never written as counts
+        verify(testCaseSummaryRepo).deleteAllInBatch();
+        verify(testCaseSummaryRepo, never()).deleteByUserIds(anyList());
+        verify(testCaseSummaryRepo, never()).saveAll(anyList());
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static TestCaseRepo.ClassificationCount group(final Long userId, final TestCaseStatus status,
+                                                          final TestCasePriority priority, final long total) {
+        return new TestCaseRepo.ClassificationCount() {
+            public Long getUserId() { return userId; }
+            public TestCaseStatus getStatus() { return status; }
+            public TestCasePriority getPriority() { return priority; }
+            public long getTotal() { return total; }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.aycodes.automataapi.common.dtos.testcase.TestCaseView;
+import io.aycodes.automataapi.common.enums.ExportFormat;
+import io.aycodes.automataapi.common.utility.CsvReader;
+import io.aycodes.automataapi.testcase.model.TestCase;
+import io.aycodes.automataapi.testcase.repository.TestCaseRepo;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.aycodes.automataapi.common.enums.TestCasePriority.HIGH;
+import static io.aycodes.automataapi.common.enums.TestCaseStatus.FAILED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+// a fetch size below the number of exported rows, so that the export spans several fetches
+@DataJpaTest(properties = "test-case.export.fetch-size=5")
+class TestCaseExportServiceImplTest {
+
+    private static final int                ROWS = 12;
+
+    @Autowired
+    private TestCaseRepo                    testCaseRepo;
+    @Autowired
+    private UserRepo                        userRepo;
+
+    private final ObjectMapper              objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private TestCaseExportServiceImpl       underTest;
+    private User                            owner;
+    private Map<Long, TestCase>             ownTestCases;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TestCaseExportServiceImpl(testCaseRepo, objectMapper);
+        owner = userRepo.save(User.builder().username("owner").email("owner@example.com").password("123456789").build());
+        User other = userRepo.save(User.builder().username("other").email("other@example.com").password("123456789").build());
+        ownTestCases = testCaseRepo.saveAll(IntStream.range(0, ROWS)
+                        .mapToObj(i -> TestCase.builder().title("t" + i).description("say \"hi\", " + i + "\nnext")
+                                .status(FAILED).priority(HIGH).user(owner).build())
+                        .toList())
+                .stream().collect(Collectors.toMap(TestCase::getId, Function.identity()));
+        testCaseRepo.save(TestCase.builder().title("foreign").description("d").user(other).build());
+    }
+
+    @Test
+    void testExportTestCases_CsvRoundTripsEveryRowOfTheCaller() throws IOException {
+        // When
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        underTest.exportTestCases(owner.getId(), ExportFormat.CSV, exported);
+
+        // Then
+        CsvReader csvReader = new CsvReader(new StringReader(exported.toString(StandardCharsets.UTF_8)));
+        assertThat(csvReader.readRow())
+                .containsExactly("id", "title", "description", "status", "priority", "createdOn", "updatedOn");
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = csvReader.readRow(); row != null; row = csvReader.readRow()) {
+            rows.add(row);
+        }
+        assertThat(rows).hasSize(ROWS);
+        for (List<String> row : rows) {
+            TestCase testCase = ownTestCases.get(Long.valueOf(row.get(0)));
+            assertThat(testCase).isNotNull();
+            assertThat(row.subList(1, 5)).containsExactly(testCase.getTitle(), testCase.getDescription(),
+                    testCase.getStatus().name(), testCase.getPriority().name());
+        }
+    }
+
+    @Test
+    void testExportTestCases_NdjsonRoundTripsEveryRowOfTheCaller() throws IOException {
+        // When
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        underTest.exportTestCases(owner.getId(), ExportFormat.NDJSON, exported);
+
+        // Then
+        List<TestCaseView> views = objectMapper.readerFor(TestCaseView.class)
+                .<TestCaseView>readValues(exported.toByteArray()).readAll();
+        assertThat(views).hasSize(ROWS);
+        assertThat(views).extracting(TestCaseView::getId).doesNotHaveDuplicates();
+        assertThat(views).extracting(TestCaseView::getCreatedOn).isSortedAccordingTo(Comparator.reverseOrder());
+        for (TestCaseView view : views) {
+            TestCase testCase = ownTestCases.get(view.getId());
+            assertThat(testCase).isNotNull();
+            assertThat(view.getTitle()).isEqualTo(testCase.getTitle());
+            assertThat(view.getDescription()).isEqualTo(testCase.getDescription());
+            assertThat(view.getStatus()).isEqualTo(testCase.getStatus());
+            assertThat(view.getPriority()).isEqualTo(testCase.getPriority());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.aycodes.automataapi.testcase.service.impl;
+
+import io.aycodes.automataapi.common.enums.TestCasePriority;
+import io.aycodes.automataapi.common.enums.TestCaseStatus;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent;
+import io.aycodes.automataapi.testcase.event.TestCaseChangeEvent.Classification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestCaseFeedServiceImplTest {
+
+    private static final Long               USER = 1L;
+    private static final int                REPLAY_SIZE = 3;
+    private static final int                SUBSCRIBER_BUFFER = 2;
+    private static final Classification     NEW = new Classification(TestCaseStatus.NOT_RUN, TestCasePriority.MEDIUM);
+
+    private TestCaseFeedServiceImpl             underTest;
+    private SimpleMeterRegistry                 meterRegistry;
+    private final Queue<Runnable>               pendingSends = new ArrayDeque<>();
+    private final List<RecordingEmitter>        emitters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new TestCaseFeedServiceImpl(REPLAY_SIZE, Duration.ofHours(1), SUBSCRIBER_BUFFER, pendingSends::add,
+                () -> {
+                    RecordingEmitter emitter = new RecordingEmitter();
+                    emitters.add(emitter);
+                    return emitter;
+                }, meterRegistry);
+    }
+
+    @Test
+    void testSubscribe_ResumingInsideTheReplaySendsOnlyMissedEvents() {
+        // Given
+        RecordingEmitter first = subscribe(null);
+        publish(1L, 2L, 3L);
+        List<String> ids = first.ids();
+
+        // When
+        RecordingEmitter resumed = subscribe(ids.get(0));
+
+        // Then
+        assertThat(ids).hasSize(3);
+        assertThat(resumed.ids()).containsExactly(ids.get(1), ids.get(2));
+        assertThat(resumed.resyncs()).isZero();
+        assertThat(resyncCount()).isZero();
+    }
+
+    @Test
+    void testSubscribe_ResumingBeforeTheReplaySendsAResync() {
+        // Given more events than the replay keeps
+        RecordingEmitter first = subscribe(null);
+        publish(1L, 2L, 3L, 4L, 5L);
+        String dropped = first.ids().get(0);
+
+        // When
+        RecordingEmitter resumed = subscribe(dropped);
+
+        // Then
+        assertThat(resumed.resyncs()).isOne();
+        assertThat(resumed.ids()).isEmpty();
+        assertThat(resyncCount()).isOne();
+    }
+
+    @Test
+    void testSubscribe_IdFromAnotherEpochSendsAResync() {
+        // Given an id that is still in the replay, but issued under the epoch of an earlier start
+        RecordingEmitter first = subscribe(null);
+        publish(1L, 2L);
+        String id = first.ids().get(0);
+        int separator = id.lastIndexOf('-');
+        String earlierEpoch = Long.toString(Long.parseLong(id.substring(0, separator), 36) - 1, 36);
+
+        // When
+        RecordingEmitter resumed = subscribe(earlierEpoch + id.substring(separator));
+
+        // Then
+        assertThat(resumed.resyncs()).isOne();
+        assertThat(resumed.ids()).isEmpty();
+    }
+
+    @Test
+    void testOnTestCaseChange_OverflowReplacesWhatWasBufferedWithOneResync() {
+        // Given a subscriber whose sends do not run while events are published
+        RecordingEmitter slow = subscribe(null);
+
+        // When its buffer overflows twice before it is drained
+        publishWithoutSending(1L, 2L, 3L, 4L, 5L, 6L);
+        List<String> afterOverflow = slow.events();
+        publish(7L);
+
+        // Then
+        assertThat(afterOverflow).containsExactly("resync");
+        assertThat(slow.events()).containsExactly("resync", "created");
+        assertThat(resyncCount()).isOne();
+    }
+
+    @Test
+    void testOnTestCaseChange_FailedSendEndsTheConnectionAndDropsTheSubscriber() {
+        // Given
+        RecordingEmitter failing = subscribe(null);
+        failing.failure = new IllegalArgumentException("No converter for the event");
+
+        // When
+        publish(1L);
+        failing.failure = null;
+        publish(2L);
+        RecordingEmitter next = subscribe(null);
+        publish(3L);
+
+        // Then the failing connection is completed and sent nothing more, while others still receive events
+        assertThat(failing.completedWith).isInstanceOf(IllegalArgumentException.class);
+        assertThat(failing.events()).isEmpty();
+        assertThat(next.events()).containsExactly("created");
+    }
+
+    private RecordingEmitter subscribe(final String lastEventId) {
+        underTest.subscribe(USER, lastEventId);
+        sendPending();
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private void publish(final Long... testCaseIds) {
+        for (Long testCaseId : testCaseIds) {
+            publishWithoutSending(testCaseId);
+            sendPending();
+        }
+    }
+
+    private void publishWithoutSending(final Long... testCaseIds) {
+        for (Long testCaseId : testCaseIds) {
+            underTest.onTestCaseChange(TestCaseChangeEvent.created(USER, testCaseId, "t" + testCaseId, "d", NEW));
+        }
+    }
+
+    private void sendPending() {
+        Runnable send;
+        while ((send = pendingSends.poll()) != null) {
+            send.run();
+        }
+    }
+
+    private double resyncCount() {
+        return meterRegistry.get("test.case.feed.resyncs").counter().count();
+    }
+
+    /**
+     * Keeps the text of every event instead of writing it to a response.
+     */
+    private class RecordingEmitter extends SseEmitter {
+
+        private final List<String>  sent = new ArrayList<>();
+        private RuntimeException    failure;
+        private Throwable           completedWith;
+
+        @Override
+        public void send(final SseEventBuilder builder) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void completeWithError(final Throwable error) {
+            completedWith = error;
+        }
+
+        List<String> ids() {
+            sendPending();
+            return lines("id:");
+        }
+
+        List<String> events() {
+            sendPending();
+            return lines("event:");
+        }
+
+        long resyncs() {
+            return events().stream().filter("resync"::equals).count();
+        }
+
+        private List<String> lines(final String field) {
+            return sent.stream()
+                    .flatMap(String::lines)
+                    .filter(line -> line.startsWith(field))
+                    .map(line -> line.substring(field.length()))
+                    .toList();
+        }
+    }
+}
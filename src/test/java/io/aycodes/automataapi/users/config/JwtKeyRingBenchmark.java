@@ -0,0 +1,72 @@
+package io.aycodes.automataapi.users.config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares token verification through the key ring with the previous approach of building a new
+ * algorithm and verifier on every call. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=<this class>}
+ * or straight from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtKeyRingBenchmark {
+
+    private AuthConfig      authConfig;
+    private JwtKeyRing      keyRing;
+    private String          token;
+
+    @Setup
+    public void setUp() {
+        authConfig = new AuthConfig();
+        authConfig.setIssuer("aycodes");
+        authConfig.setAudience("aycodes");
+        authConfig.setSecretKey("$2a$20$Jn08uDdO35bgvcnlBSrcmeAOIAeiUMnp00C6tJBjtdVJPTfBwkxAC");
+        authConfig.setKeyId("k1");
+        authConfig.setVerificationKeys(List.of("k0:previous-secret"));
+        authConfig.setClockSkew(10L);
+        keyRing = new JwtKeyRing(authConfig);
+        token = keyRing.sign(JWT.create()
+                .withJWTId("benchmark")
+                .withIssuer(authConfig.getIssuer())
+                .withAudience(authConfig.getAudience())
+                .withSubject("benchmark-user")
+                .withExpiresAt(Instant.now().plusSeconds(3600)));
+    }
+
+    @Benchmark
+    public DecodedJWT verifierPerCall() {
+        Algorithm algorithm = Algorithm.HMAC512(authConfig.getSecretKey());
+        JWTVerifier verifier = JWT.require(algorithm)
+                .withAudience(authConfig.getAudience())
+                .withIssuer(authConfig.getIssuer()).build();
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT keyRingVerify() {
+        return keyRing.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtKeyRingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
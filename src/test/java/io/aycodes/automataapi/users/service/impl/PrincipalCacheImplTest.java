@@ -0,0 +1,96 @@
+package io.aycodes.automataapi.users.service.impl;
+
+import io.aycodes.automataapi.common.dtos.auth.AuthenticatedUser;
+import io.aycodes.automataapi.common.dtos.auth.AuthenticationTokenDetails;
+import io.aycodes.automataapi.users.config.AuthConfig;
+import io.aycodes.automataapi.users.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheImplTest {
+
+    private PrincipalCacheImpl      underTest;
+    private SimpleMeterRegistry     meterRegistry;
+    @Mock
+    private UserDetailsService      userDetailsService;
+
+    private final String USERNAME = "test-user";
+
+    @BeforeEach
+    void setUp() {
+        AuthConfig authConfig = new AuthConfig();
+        authConfig.setPrincipalCacheMaxSize(100L);
+        authConfig.setPrincipalCacheMaxTtl(300L);
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new PrincipalCacheImpl(userDetailsService, authConfig, meterRegistry);
+    }
+
+    @Test
+    void testGetPrincipal_WhenCachedDoesNotLoadUserAgain() {
+        //Given
+        User user = User.builder().id(1L).username(USERNAME).build();
+        given(userDetailsService.loadUserByUsername(USERNAME)).willReturn(user);
+        AuthenticationTokenDetails tokenDetails = tokenExpiringAt(ZonedDateTime.now().plusHours(1));
+
+        //When
+        AuthenticatedUser first = underTest.getPrincipal(tokenDetails);
+        AuthenticatedUser second = underTest.getPrincipal(tokenDetails);
+
+        //Then
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second).isSameAs(first);
+        verify(userDetailsService, times(1)).loadUserByUsername(USERNAME);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testGetPrincipal_WhenInvalidatedLoadsUserAgain() {
+        //Given
+        given(userDetailsService.loadUserByUsername(USERNAME)).willReturn(User.builder().username(USERNAME).build());
+        AuthenticationTokenDetails tokenDetails = tokenExpiringAt(ZonedDateTime.now().plusHours(1));
+
+        //When
+        underTest.getPrincipal(tokenDetails);
+        underTest.invalidate(USERNAME);
+        underTest.getPrincipal(tokenDetails);
+
+        //Then
+        verify(userDetailsService, times(2)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void testGetPrincipal_WhenTokenAlreadyExpiredIsNotRetained() {
+        //Given
+        given(userDetailsService.loadUserByUsername(USERNAME)).willReturn(User.builder().username(USERNAME).build());
+        AuthenticationTokenDetails tokenDetails = tokenExpiringAt(ZonedDateTime.now().minusSeconds(1));
+
+        //When
+        underTest.getPrincipal(tokenDetails);
+        underTest.getPrincipal(tokenDetails);
+
+        //Then
+        verify(userDetailsService, times(2)).loadUserByUsername(USERNAME);
+    }
+
+    private AuthenticationTokenDetails tokenExpiringAt(final ZonedDateTime expirationDate) {
+        return AuthenticationTokenDetails.builder()
+                .tokenId("token-id")
+                .subject(USERNAME)
+                .issuedDate(ZonedDateTime.now())
+                .expirationDate(expirationDate)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package io.aycodes.automataapi.users.service.impl;
+
+import io.aycodes.automataapi.common.config.BoundedPasswordEncoder;
+import io.aycodes.automataapi.common.dtos.BulkRowResult;
+import io.aycodes.automataapi.common.dtos.user.UserSignupDto;
+import io.aycodes.automataapi.users.model.User;
+import io.aycodes.automataapi.users.repository.UserBatchRepo;
+import io.aycodes.automataapi.users.repository.UserRepo;
+import io.aycodes.automataapi.users.service.UserAvailabilityIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+
+@DataJpaTest
+@Import(UserBatchRepo.class)
+// every chunk commits in its own transaction, as it does in the application
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserProvisioningServiceImplTest {
+
+    private static final int                CHUNK_SIZE = 3;
+    private static final String             PASSWORD = "Passw0rd!";
+
+    @Autowired
+    private UserRepo                        userRepo;
+    @Autowired
+    private UserBatchRepo                   userBatchRepo;
+    @Autowired
+    private TransactionTemplate             transactionTemplate;
+
+    private final BoundedPasswordEncoder    passwordEncoder = mock(BoundedPasswordEncoder.class);
+    private final UserAvailabilityIndex     userAvailabilityIndex = mock(UserAvailabilityIndex.class);
+
+    @BeforeEach
+    void setUp() {
+        given(passwordEncoder.encodeAll(anyList())).willAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(password -> "{noop}" + password).toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void testCreateUsers_RejectsUsernamesAndEmailsRepeatedInTheBatch() {
+        // Given
+        List<UserSignupDto> rows = List.of(
+                signup("alice", "alice@example.com"),
+                signup("ALICE", "other@example.com"),
+                signup("bobby", "Alice@Example.com"),
+                signup("carol", "carol@example.com"),
+                signup("dave", "not-an-email"),
+                signup("erin", "erin@example.com"));
+
+        // When
+        List<BulkRowResult> results = service(userRepo).createUsers(rows.iterator());
+
+        // Then each created id holds the user of its row, across two chunks
+        assertThat(results).extracting(BulkRowResult::getMessage).containsExactly(
+                "Created",
+                "Username appears more than once in the request",
+                "Email appears more than once in the request",
+                "Created",
+                "Invalid email format",
+                "Created");
+        results.stream().filter(BulkRowResult::isSuccess).forEach(result -> assertThat(
+                userRepo.findById(result.getId()).map(User::getEmail))
+                .contains(rows.get(result.getRow()).getEmail()));
+        verify(userAvailabilityIndex).register("alice", "alice@example.com");
+        verify(userAvailabilityIndex).register("carol", "carol@example.com");
+        verify(userAvailabilityIndex).register("erin", "erin@example.com");
+        verifyNoMoreInteractions(userAvailabilityIndex);
+        assertThat(userRepo.count()).isEqualTo(3);
+    }
+
+    @Test
+    void testCreateUsers_RejectsUsernamesAndEmailsAlreadyStored() {
+        // Given
+        insertExisting("alice", "alice@example.com");
+        List<UserSignupDto> rows = List.of(
+                signup("alice", "new@example.com"),
+                signup("bobby", "alice@example.com"),
+                signup("carol", "carol@example.com"));
+
+        // When
+        List<BulkRowResult> results = service(userRepo).createUsers(rows.iterator());
+
+        // Then
+        assertThat(results).extracting(BulkRowResult::getKey, BulkRowResult::getMessage).containsExactly(
+                tuple("alice", "Username is already in use"),
+                tuple("bobby", "Email is already in use"),
+                tuple("carol", "Created"));
+        assertThat(userRepo.findByUsername("carol").map(User::getId)).contains(results.get(2).getId());
+        assertThat(userRepo.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testCreateUsers_ConflictingBatchIsRetriedRowByRow() {
+        // Given a username taken after the existing names were checked
+        insertExisting("alice", "alice@example.com");
+        UserRepo staleIdentities = mock(UserRepo.class, delegatesTo(userRepo));
+        doReturn(List.of()).when(staleIdentities).findIdentities(anyCollection(), anyCollection());
+        List<UserSignupDto> rows = List.of(
+                signup("bobby", "bobby@example.com"),
+                signup("alice", "new@example.com"),
+                signup("carol", "carol@example.com"));
+
+        // When
+        List<BulkRowResult> results = service(staleIdentities).createUsers(rows.iterator());
+
+        // Then the rest of the chunk is still created, each row with its own id
+        assertThat(results).extracting(BulkRowResult::getMessage)
+                .containsExactly("Created", "Username or email is already in use", "Created");
+        assertThat(userRepo.findById(results.get(0).getId()).map(User::getUsername)).contains("bobby");
+        assertThat(userRepo.findById(results.get(2).getId()).map(User::getUsername)).contains("carol");
+        verify(userAvailabilityIndex, never()).register(eq("alice"), any());
+        assertThat(userRepo.count()).isEqualTo(3);
+    }
+
+    private UserProvisioningServiceImpl service(final UserRepo userRepo) {
+        return new UserProvisioningServiceImpl(userRepo, userBatchRepo, passwordEncoder, userAvailabilityIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate, CHUNK_SIZE, 100);
+    }
+
+    private void insertExisting(final String username, final String email) {
+        userRepo.save(User.builder().username(username).email(email).password(PASSWORD).build());
+    }
+
+    private static UserSignupDto signup(final String username, final String email) {
+        return new UserSignupDto(username, email, PASSWORD);
+    }
+}
@@ -4,6 +4,8 @@ import io.aycodes.automataapi.common.dtos.CustomException;
 import io.aycodes.automataapi.common.dtos.user.UserSignupDto;
 import io.aycodes.automataapi.users.model.User;
 import io.aycodes.automataapi.users.repository.UserRepo;
+import io.aycodes.automataapi.users.service.PrincipalCache;
+import io.aycodes.automataapi.users.service.UserAvailabilityIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -29,10 +31,14 @@ class UserServiceImplTest {
     private UserRepo            userRepo;
     @Mock
     private PasswordEncoder     passwordEncoder;
+    @Mock
+    private PrincipalCache      principalCache;
+    @Mock
+    private UserAvailabilityIndex userAvailabilityIndex;
 
     @BeforeEach
     void setUp() {
-        underTest = new UserServiceImpl(userRepo, passwordEncoder);
+        underTest = new UserServiceImpl(userRepo, passwordEncoder, principalCache, userAvailabilityIndex);
     }
 
     @Test
@@ -67,8 +73,8 @@ class UserServiceImplTest {
                 .build();
 
         //When
-        given(userRepo.findByEmail(userSignupDto.getEmail()))
-                .willReturn(Optional.of(new User()));
+        given(userAvailabilityIndex.isEmailTaken(userSignupDto.getEmail()))
+                .willReturn(true);
 
         assertThatThrownBy(() -> underTest.createUser(userSignupDto))
                 .isInstanceOf(CustomException.class)
@@ -87,8 +93,8 @@ class UserServiceImplTest {
                 .build();
 
         //When
-        given(userRepo.findByUsername(userSignupDto.getUsername()))
-                .willReturn(Optional.of(new User()));
+        given(userAvailabilityIndex.isUsernameTaken(userSignupDto.getUsername()))
+                .willReturn(true);
 
         assertThatThrownBy(() -> underTest.createUser(userSignupDto))
                 .isInstanceOf(CustomException.class)